@@ -15,6 +15,7 @@ package dev.yila.functional;
 
 import dev.yila.functional.failure.Failure;
 
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.*;
 import java.util.function.Consumer;
@@ -90,6 +91,20 @@ public final class AsyncResult <T> implements Result<T> {
         return new AsyncResult<>(executor, supplier);
     }
 
+    /**
+     * Creates a new AsyncResult that will execute the given supplier with a priority.
+     * The next stages of the result are scheduled with the same priority.
+     *
+     * @param scheduler the scheduler that dispatches the work by priority
+     * @param priority the priority of the work
+     * @param supplier the supplier that provides the result value
+     * @param <T> the type of the result value
+     * @return a new AsyncResult
+     */
+    public static <T> AsyncResult<T> create(PriorityScheduler scheduler, PriorityScheduler.Priority priority, Supplier<T> supplier) {
+        return new AsyncResult<>(scheduler.executor(priority), supplier);
+    }
+
     /**
      * Creates a new AsyncResult from an existing CompletableFuture.
      *
@@ -123,6 +138,18 @@ public final class AsyncResult <T> implements Result<T> {
         }, executor), exceptionClass);
     }
 
+    /**
+     * Creates a new AsyncResult from a CompletableFuture that completes with a Result.
+     *
+     * @param executor the executor to use for async operations
+     * @param future the completable future with the result
+     * @param <T> the type of the result value
+     * @return a new AsyncResult
+     */
+    static <T> AsyncResult<T> fromResult(Executor executor, CompletableFuture<Result<T>> future) {
+        return new AsyncResult<>(executor, future);
+    }
+
     public Result<T> withTimeout(long timeout, TimeUnit unit) {
         CompletableFuture<Result<T>> timedCf = this.completableFuture.orTimeout(timeout, unit)
                 .exceptionally(this::throwableError);
@@ -160,13 +187,8 @@ public final class AsyncResult <T> implements Result<T> {
 
     @Override
     public <R> Result<R> flatMap(Function<T, Result<R>> function) {
-        CompletableFuture<Result<R>> cf = this.completableFuture.thenCompose(r -> {
-            Result<R> mapped = r.flatMap(function);
-            if (mapped instanceof AsyncResult<R> asyncResult) {
-                return asyncResult.completableFuture;
-            }
-            return CompletableFuture.completedFuture(mapped);
-        });
+        CompletableFuture<Result<R>> cf = this.completableFuture
+                .thenCompose(r -> toFuture(r.flatMap(function)));
         return new AsyncResult<>(this.executor, cf);
     }
 
@@ -179,13 +201,44 @@ public final class AsyncResult <T> implements Result<T> {
 
     @Override
     public <R, K extends Exception> Result<R> flatMap(ExceptionFunction<T, Result<R>, K> function, Class<K> exceptionClass) {
-        CompletableFuture<Result<R>> cf = this.completableFuture.thenCompose(r -> {
-            Result<R> mapped = r.flatMap(function, exceptionClass);
-            if (mapped instanceof AsyncResult<R> asyncResult) {
-                return asyncResult.completableFuture;
-            }
-            return CompletableFuture.completedFuture(mapped);
-        });
+        CompletableFuture<Result<R>> cf = this.completableFuture
+                .thenCompose(r -> toFuture(r.flatMap(function, exceptionClass)));
+        return new AsyncResult<>(this.executor, cf);
+    }
+
+    /**
+     * New result with the execution of the function in the given executor if is success.
+     * Only this stage runs in the given executor, next stages continue in the executor of this result.
+     * If the executor rejects the stage, the new result is a failure.
+     *
+     * @param executor the executor where the function is executed
+     * @param function the function to apply to the success value
+     * @param <R> the type of the new result value
+     * @return a new AsyncResult
+     */
+    public <R> AsyncResult<R> mapAsync(Executor executor, Function<T, R> function) {
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(function);
+        CompletableFuture<Result<R>> cf = this.completableFuture
+                .thenApplyAsync(r -> r.map(function), executor);
+        return new AsyncResult<>(this.executor, cf);
+    }
+
+    /**
+     * Flatten map current result with a function executed in the given executor if is success.
+     * Only this stage runs in the given executor, next stages continue in the executor of this result.
+     * If the executor rejects the stage, the new result is a failure.
+     *
+     * @param executor the executor where the function is executed
+     * @param function the function that returns a new result
+     * @param <R> the type of the new result value
+     * @return a new AsyncResult
+     */
+    public <R> AsyncResult<R> flatMapAsync(Executor executor, Function<T, Result<R>> function) {
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(function);
+        CompletableFuture<Result<R>> cf = this.completableFuture
+                .thenComposeAsync(r -> toFuture(r.flatMap(function)), executor);
         return new AsyncResult<>(this.executor, cf);
     }
 
@@ -208,10 +261,21 @@ public final class AsyncResult <T> implements Result<T> {
         return getResult().value();
     }
 
+    CompletableFuture<Result<T>> future() {
+        return this.completableFuture;
+    }
+
     private Result<T> getResult() {
         return this.completableFuture.join();
     }
 
+    private static <R> CompletableFuture<Result<R>> toFuture(Result<R> result) {
+        if (result instanceof AsyncResult<R> asyncResult) {
+            return asyncResult.completableFuture;
+        }
+        return CompletableFuture.completedFuture(result);
+    }
+
     private Result<T> throwableError(Throwable throwable) {
         if (throwable.getCause() instanceof Error cause) {
             throw cause;
@@ -0,0 +1,242 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Loading cache that returns shared AsyncResult values.
+ * Values are loaded in the executor, failures are not cached.
+ * A value older than the refresh time is reloaded in background while the current value is still served.
+ * Reads never block, eviction is done in a bounded cache with W-TinyLFU style admission.
+ * @param <K> key type
+ * @param <V> value type
+ */
+public final class AsyncResultCache<K, V> {
+
+    /**
+     * Creates a cache that loads each key with a fun.
+     *
+     * @param executor the executor where values are loaded
+     * @param loader the fun that loads the value of a key
+     * @param maximumSize maximum number of cached values
+     * @param expireAfterWrite time that a value is valid after loaded
+     * @param refreshAfterWrite time after a value is loaded to reload it in background
+     * @param <K> key type
+     * @param <V> value type
+     * @return a new AsyncResultCache
+     */
+    public static <K, V> AsyncResultCache<K, V> create(Executor executor, Fun<K, V> loader, long maximumSize,
+                                                      Duration expireAfterWrite, Duration refreshAfterWrite) {
+        Objects.requireNonNull(loader);
+        return create(executor, keys -> {
+            Map<K, Result<V>> results = new HashMap<>();
+            keys.forEach(key -> results.put(key, apply(loader, key)));
+            return results;
+        }, maximumSize, expireAfterWrite, refreshAfterWrite);
+    }
+
+    /**
+     * Creates a cache that loads keys in batches.
+     *
+     * @param executor the executor where values are loaded
+     * @param batchLoader function that returns the result of each key in the batch
+     * @param maximumSize maximum number of cached values
+     * @param expireAfterWrite time that a value is valid after loaded
+     * @param refreshAfterWrite time after a value is loaded to reload it in background
+     * @param <K> key type
+     * @param <V> value type
+     * @return a new AsyncResultCache
+     */
+    public static <K, V> AsyncResultCache<K, V> create(Executor executor, Function<List<K>, Map<K, Result<V>>> batchLoader,
+                                                      long maximumSize, Duration expireAfterWrite, Duration refreshAfterWrite) {
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(batchLoader);
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be greater than 0.");
+        }
+        if (refreshAfterWrite.compareTo(Duration.ZERO) <= 0 || expireAfterWrite.compareTo(Duration.ZERO) <= 0) {
+            throw new IllegalArgumentException("Expire and refresh times must be greater than 0.");
+        }
+        if (refreshAfterWrite.compareTo(expireAfterWrite) >= 0) {
+            throw new IllegalArgumentException("Refresh time must be lower than expire time.");
+        }
+        return new AsyncResultCache<>(executor, batchLoader, maximumSize,
+                expireAfterWrite.toNanos(), refreshAfterWrite.toNanos());
+    }
+
+    private final Executor executor;
+    private final Function<List<K>, Map<K, Result<V>>> batchLoader;
+    private final BoundedCache<K, Entry<V>> cache;
+    private final long refreshNanos;
+
+    private AsyncResultCache(Executor executor, Function<List<K>, Map<K, Result<V>>> batchLoader,
+                             long maximumSize, long expireNanos, long refreshNanos) {
+        this.executor = executor;
+        this.batchLoader = batchLoader;
+        this.cache = new BoundedCache<>(maximumSize, (key, entry) -> 1L, expireNanos);
+        this.refreshNanos = refreshNanos;
+    }
+
+    /**
+     * Cached result of the key, loaded if not present.
+     * @param key the key
+     * @return AsyncResult shared by all the callers
+     */
+    public AsyncResult<V> get(K key) {
+        Objects.requireNonNull(key);
+        return getAll(List.of(key)).get(key);
+    }
+
+    /**
+     * Cached results of the keys, the keys not present are loaded in one batch.
+     * @param keys the keys
+     * @return map with the AsyncResult of each key
+     */
+    public Map<K, AsyncResult<V>> getAll(Collection<K> keys) {
+        Map<K, AsyncResult<V>> results = new LinkedHashMap<>();
+        Map<K, Entry<V>> loads = new LinkedHashMap<>();
+        Map<K, Entry<V>> refreshes = new LinkedHashMap<>();
+        for (K key : keys) {
+            Entry<V> entry = cache.getIfPresent(key);
+            if (entry == null && !loads.containsKey(key)) {
+                Entry<V> candidate = new Entry<>();
+                entry = cache.putIfAbsent(key, candidate);
+                if (entry == null) {
+                    loads.put(key, candidate);
+                    entry = candidate;
+                }
+            }
+            if (entry != null) {
+                if (needsRefresh(entry)) {
+                    refreshes.put(key, entry);
+                }
+                results.put(key, entry.result);
+            }
+        }
+        if (!loads.isEmpty()) {
+            load(loads);
+        }
+        refreshes.forEach(this::refresh);
+        return results;
+    }
+
+    /**
+     * Remove the cached result of the key.
+     * @param key the key
+     */
+    public void invalidate(K key) {
+        cache.invalidate(key);
+    }
+
+    /**
+     * Number of cached results.
+     * @return size
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Statistics of the cache.
+     * @return CacheStats
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private void load(Map<K, Entry<V>> loads) {
+        List<K> keys = new ArrayList<>(loads.keySet());
+        cache.recordMisses(keys.size());
+        try {
+            CompletableFuture.supplyAsync(() -> loadBatch(keys), executor)
+                    .whenComplete((results, throwable) -> loads.forEach((key, entry) ->
+                            complete(key, entry, throwable == null ? found(results, key) : failure(throwable))));
+        } catch (RuntimeException exception) {
+            loads.forEach((key, entry) -> complete(key, entry, DirectResult.failure(exception)));
+        }
+    }
+
+    private Map<K, Result<V>> loadBatch(List<K> keys) {
+        long start = System.nanoTime();
+        try {
+            return batchLoader.apply(keys);
+        } finally {
+            cache.recordLoad(System.nanoTime() - start);
+        }
+    }
+
+    private void complete(K key, Entry<V> entry, Result<V> result) {
+        if (result.hasFailure()) {
+            cache.invalidate(key, entry);
+        }
+        entry.promise.complete(result);
+    }
+
+    private boolean needsRefresh(Entry<V> entry) {
+        return System.nanoTime() - entry.loadedNanos >= refreshNanos
+                && entry.promise.isDone()
+                && entry.refreshing.compareAndSet(false, true);
+    }
+
+    private void refresh(K key, Entry<V> entry) {
+        try {
+            CompletableFuture.supplyAsync(() -> found(loadBatch(List.of(key)), key), executor)
+                    .whenComplete((result, throwable) -> {
+                        if (throwable == null && !result.hasFailure()) {
+                            Entry<V> refreshed = new Entry<>();
+                            refreshed.promise.complete(result);
+                            cache.replace(key, entry, refreshed);
+                        } else {
+                            entry.refreshing.set(false);
+                        }
+                    });
+        } catch (RuntimeException rejection) {
+            // the current value is served until the next refresh
+            entry.refreshing.set(false);
+        }
+    }
+
+    private Result<V> found(Map<K, Result<V>> results, K key) {
+        Result<V> result = results == null ? null : results.get(key);
+        return result != null ? result : DirectResult.failure("Not found a result for key: " + key);
+    }
+
+    private Result<V> failure(Throwable throwable) {
+        return DirectResult.failure(throwable.getCause() instanceof Exception exception
+                ? exception
+                : new RuntimeException(throwable));
+    }
+
+    private static <K, V> Result<V> apply(Fun<K, V> loader, K key) {
+        try {
+            return loader.apply(key);
+        } catch (RuntimeException exception) {
+            return DirectResult.failure(exception);
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final CompletableFuture<Result<V>> promise = new CompletableFuture<>();
+        private final AsyncResult<V> result = AsyncResult.fromResult(Runnable::run, promise);
+        private final AtomicBoolean refreshing = new AtomicBoolean(false);
+        private final long loadedNanos = System.nanoTime();
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Groups individual loads of keys in calls to a batch function.
+ * A batch is dispatched when it reaches the maximum size, or when the window since the
+ * first waiting load expires. Each load gets its own result from the batch.
+ * If the executor rejects a batch, its loads fail with the rejection.
+ * @param <K> key type
+ * @param <V> value type
+ */
+public final class BatchFun<K, V> {
+
+    /**
+     * Creates a new BatchFun.
+     *
+     * @param executor the executor where the batch function is executed
+     * @param batchFunction function that returns the result of each key in the batch
+     * @param maxBatchSize maximum number of loads in a batch
+     * @param window maximum time that a load waits for more loads
+     * @param <K> key type
+     * @param <V> value type
+     * @return a new BatchFun
+     */
+    public static <K, V> BatchFun<K, V> create(Executor executor, Function<List<K>, Map<K, Result<V>>> batchFunction,
+                                               int maxBatchSize, Duration window) {
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(batchFunction);
+        Objects.requireNonNull(window);
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Max batch size must be greater than 0.");
+        }
+        return new BatchFun<>(executor, batchFunction, maxBatchSize, window);
+    }
+
+    private final Executor executor;
+    private final Executor timer;
+    private final Function<List<K>, Map<K, Result<V>>> batchFunction;
+    private final int maxBatchSize;
+    private final ConcurrentLinkedQueue<Load<K, V>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger(0);
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    private BatchFun(Executor executor, Function<List<K>, Map<K, Result<V>>> batchFunction,
+                     int maxBatchSize, Duration window) {
+        this.executor = executor;
+        this.timer = CompletableFuture.delayedExecutor(window.toNanos(), TimeUnit.NANOSECONDS, Runnable::run);
+        this.batchFunction = batchFunction;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Load the key in the next batch.
+     * @param key the key to load
+     * @return AsyncResult with the result of the key in the batch
+     */
+    public AsyncResult<V> load(K key) {
+        Objects.requireNonNull(key);
+        CompletableFuture<Result<V>> promise = new CompletableFuture<>();
+        queue.add(new Load<>(key, promise));
+        if (size.incrementAndGet() >= maxBatchSize) {
+            submit(this::dispatch, false);
+        } else if (scheduled.compareAndSet(false, true)) {
+            timer.execute(() -> submit(this::dispatchAll, true));
+        }
+        return AsyncResult.fromResult(Runnable::run, promise);
+    }
+
+    private void submit(Runnable dispatcher, boolean all) {
+        try {
+            executor.execute(dispatcher);
+        } catch (RuntimeException rejection) {
+            if (all) {
+                scheduled.set(false);
+            }
+            poll(all ? size.get() : maxBatchSize)
+                    .forEach(load -> load.promise().complete(DirectResult.failure(rejection)));
+        }
+    }
+
+    private void dispatchAll() {
+        scheduled.set(false);
+        while (!queue.isEmpty()) {
+            dispatch();
+        }
+    }
+
+    private void dispatch() {
+        List<Load<K, V>> batch = poll(maxBatchSize);
+        if (!batch.isEmpty()) {
+            execute(batch);
+        }
+    }
+
+    private List<Load<K, V>> poll(int maximum) {
+        List<Load<K, V>> batch = new ArrayList<>();
+        Load<K, V> load;
+        while (batch.size() < maximum && (load = queue.poll()) != null) {
+            batch.add(load);
+        }
+        size.addAndGet(-batch.size());
+        return batch;
+    }
+
+    private void execute(List<Load<K, V>> batch) {
+        List<K> keys = batch.stream().map(Load::key).distinct().toList();
+        Map<K, Result<V>> results;
+        try {
+            results = Objects.requireNonNull(batchFunction.apply(keys), "The batch function must not return null");
+        } catch (RuntimeException exception) {
+            batch.forEach(load -> load.promise().complete(DirectResult.failure(exception)));
+            return;
+        } catch (Error error) {
+            batch.forEach(load -> load.promise().completeExceptionally(new CompletionException(error)));
+            throw error;
+        }
+        batch.forEach(load -> {
+            Result<V> result = results.get(load.key());
+            load.promise().complete(result != null
+                    ? result
+                    : DirectResult.failure("Not found a result for key: " + load.key()));
+        });
+    }
+
+    private record Load<K, V>(K key, CompletableFuture<Result<V>> promise) {}
+}
@@ -0,0 +1,291 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Bounded concurrent cache with W-TinyLFU style eviction.
+ * New entries go to a small LRU window, entries leaving the window are only admitted
+ * in the main LRU region if they are used more often than the main region victim.
+ * Reads never block, the eviction policy is updated only if the lock is free.
+ * Entries evicted by size are sent to the eviction listener, outside the lock.
+ * @param <K> key type
+ * @param <V> value type
+ */
+final class BoundedCache<K, V> {
+
+    private final ConcurrentHashMap<K, Node<V>> data = new ConcurrentHashMap<>();
+    private final LinkedHashMap<K, Node<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Node<V>> main = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final long maximumWeight;
+    private final long windowMaximumWeight;
+    private final ToLongBiFunction<K, V> weigher;
+    private final long expireNanos;
+    private final BiConsumer<K, V> evictionListener;
+    private final Queue<Map.Entry<K, V>> evicted = new ConcurrentLinkedQueue<>();
+    private long windowWeight;
+    private long mainWeight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    BoundedCache(long maximumWeight, ToLongBiFunction<K, V> weigher, long expireNanos) {
+        this(maximumWeight, weigher, expireNanos, null);
+    }
+
+    BoundedCache(long maximumWeight, ToLongBiFunction<K, V> weigher, long expireNanos,
+                 BiConsumer<K, V> evictionListener) {
+        this.maximumWeight = maximumWeight;
+        this.evictionListener = evictionListener;
+        this.windowMaximumWeight = Math.max(1, maximumWeight / 100);
+        this.weigher = weigher;
+        this.expireNanos = expireNanos;
+        this.sketch = new FrequencySketch(0);
+    }
+
+    V getIfPresent(K key) {
+        Node<V> node = data.get(key);
+        if (node == null) {
+            return null;
+        }
+        if (expired(node)) {
+            remove(key, node);
+            return null;
+        }
+        hits.increment();
+        if (lock.tryLock()) {
+            try {
+                sketch.increment(key);
+                if (window.get(key) == null) {
+                    main.get(key);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    V get(K key, Function<K, V> loader, Predicate<V> cacheable) {
+        V value = getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        misses.increment();
+        long start = System.nanoTime();
+        value = loader.apply(key);
+        loadNanos.add(System.nanoTime() - start);
+        if (cacheable.test(value)) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    void put(K key, V value) {
+        Node<V> node = new Node<>(value, weigher.applyAsLong(key, value), System.nanoTime());
+        lock.lock();
+        try {
+            insert(key, node);
+        } finally {
+            lock.unlock();
+        }
+        notifyEvicted();
+    }
+
+    V putIfAbsent(K key, V value) {
+        Node<V> node = new Node<>(value, weigher.applyAsLong(key, value), System.nanoTime());
+        V present = null;
+        lock.lock();
+        try {
+            Node<V> current = data.get(key);
+            if (current != null && !expired(current)) {
+                present = current.value;
+            } else {
+                insert(key, node);
+            }
+        } finally {
+            lock.unlock();
+        }
+        notifyEvicted();
+        return present;
+    }
+
+    void replace(K key, V expected, V value) {
+        Node<V> node = new Node<>(value, weigher.applyAsLong(key, value), System.nanoTime());
+        lock.lock();
+        try {
+            Node<V> current = data.get(key);
+            if (current != null && current.value == expected) {
+                insert(key, node);
+            }
+        } finally {
+            lock.unlock();
+        }
+        notifyEvicted();
+    }
+
+    void invalidate(K key, V expected) {
+        lock.lock();
+        try {
+            Node<V> current = data.get(key);
+            if (current != null && current.value == expected) {
+                data.remove(key);
+                detach(key, current);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void invalidate(K key) {
+        lock.lock();
+        try {
+            detach(key, data.remove(key));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long size() {
+        return data.size();
+    }
+
+    void forEach(BiConsumer<K, V> consumer) {
+        data.forEach((key, node) -> {
+            if (!expired(node)) {
+                consumer.accept(key, node.value);
+            }
+        });
+    }
+
+    void recordMisses(long count) {
+        misses.add(count);
+    }
+
+    void recordLoad(long nanos) {
+        loadNanos.add(nanos);
+    }
+
+    CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), loadNanos.sum());
+    }
+
+    private void insert(K key, Node<V> node) {
+        detach(key, data.put(key, node));
+        sketch.ensureCapacity(data.size());
+        sketch.increment(key);
+        window.put(key, node);
+        windowWeight += node.weight;
+        evict();
+    }
+
+    private void notifyEvicted() {
+        for (Map.Entry<K, V> entry = evicted.poll(); entry != null; entry = evicted.poll()) {
+            evictionListener.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void remove(K key, Node<V> node) {
+        lock.lock();
+        try {
+            if (data.remove(key, node)) {
+                detach(key, node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void detach(K key, Node<V> node) {
+        if (node != null) {
+            if (window.remove(key, node)) {
+                windowWeight -= node.weight;
+            } else if (main.remove(key, node)) {
+                mainWeight -= node.weight;
+            }
+        }
+    }
+
+    private void evict() {
+        while (windowWeight > windowMaximumWeight) {
+            Map.Entry<K, Node<V>> candidate = eldest(window);
+            window.remove(candidate.getKey());
+            windowWeight -= candidate.getValue().weight;
+            main.put(candidate.getKey(), candidate.getValue());
+            mainWeight += candidate.getValue().weight;
+            admit(candidate);
+        }
+        while (windowWeight + mainWeight > maximumWeight) {
+            evict(eldest(main.isEmpty() ? window : main));
+        }
+    }
+
+    private void admit(Map.Entry<K, Node<V>> candidate) {
+        while (windowWeight + mainWeight > maximumWeight && main.size() > 1) {
+            Map.Entry<K, Node<V>> victim = eldest(main);
+            if (sketch.frequency(candidate.getKey()) > sketch.frequency(victim.getKey())) {
+                evict(victim);
+            } else {
+                evict(candidate);
+                return;
+            }
+        }
+    }
+
+    private void evict(Map.Entry<K, Node<V>> entry) {
+        K key = entry.getKey();
+        Node<V> node = entry.getValue();
+        data.remove(key, node);
+        detach(key, node);
+        evictions.increment();
+        if (evictionListener != null) {
+            evicted.add(Map.entry(key, node.value));
+        }
+    }
+
+    private Map.Entry<K, Node<V>> eldest(LinkedHashMap<K, Node<V>> region) {
+        return region.entrySet().iterator().next();
+    }
+
+    private boolean expired(Node<V> node) {
+        return expireNanos > 0 && System.nanoTime() - node.writeNanos >= expireNanos;
+    }
+
+    private static final class Node<V> {
+        private final V value;
+        private final long weight;
+        private final long writeNanos;
+
+        private Node(V value, long weight, long writeNanos) {
+            this.value = value;
+            this.weight = weight;
+            this.writeNanos = writeNanos;
+        }
+    }
+}
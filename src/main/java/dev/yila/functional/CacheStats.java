@@ -0,0 +1,42 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+/**
+ * Statistics of a cache.
+ *
+ * @param hits number of times a value was found in the cache
+ * @param misses number of times a value was not found, and was loaded
+ * @param evictions number of values removed to keep the cache bounded
+ * @param loadNanos total time loading values
+ */
+public record CacheStats(long hits, long misses, long evictions, long loadNanos) {
+
+    /**
+     * Ratio of requests that were found in the cache.
+     * @return value between 0 and 1
+     */
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+
+    /**
+     * Average time loading a value.
+     * @return nanoseconds
+     */
+    public long averageLoadNanos() {
+        return misses == 0 ? 0 : loadNanos / misses;
+    }
+}
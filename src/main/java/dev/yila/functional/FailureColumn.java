@@ -0,0 +1,69 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import dev.yila.functional.failure.Failure;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Failures of a columnar buffer: a bitmap of the failed indexes and a sparse map from index to failure.
+ */
+final class FailureColumn {
+
+    private final BitSet failed;
+    private final Map<Integer, Failure> failures;
+
+    FailureColumn() {
+        this(new BitSet(), new HashMap<>());
+    }
+
+    private FailureColumn(BitSet failed, Map<Integer, Failure> failures) {
+        this.failed = failed;
+        this.failures = failures;
+    }
+
+    boolean isFailed(int index) {
+        return failed.get(index);
+    }
+
+    Failure get(int index) {
+        return failures.get(index);
+    }
+
+    void add(int index, Failure failure) {
+        failed.set(index);
+        failures.put(index, failure);
+    }
+
+    int count() {
+        return failures.size();
+    }
+
+    FailureColumn copy() {
+        return new FailureColumn((BitSet) failed.clone(), new HashMap<>(failures));
+    }
+
+    List<Failure> inOrder() {
+        List<Failure> list = new ArrayList<>(failures.size());
+        for (int index = failed.nextSetBit(0); index >= 0; index = failed.nextSetBit(index + 1)) {
+            list.add(failures.get(index));
+        }
+        return list;
+    }
+}
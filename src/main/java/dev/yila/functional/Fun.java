@@ -13,6 +13,7 @@
  */
 package dev.yila.functional;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
 
@@ -42,6 +43,12 @@ public class Fun<I, O> {
         this.exceptionFunction = exceptionFunction;
     }
 
+    Fun() {
+        this.function = null;
+        this.allowedException = null;
+        this.exceptionFunction = null;
+    }
+
     public static <Input,Output> Fun<Input, Output> from(Function<Input, Output> function) {
         return new Fun<>(function);
     }
@@ -51,7 +58,39 @@ public class Fun<I, O> {
     }
 
     public static <Input,Middle,Output> Fun<Input, Output> compose(Fun<Input, Middle> first, Fun<Middle, Output> second) {
-        return new Fun<>(first.function.andThen(second.function));
+        return FunPipeline.of(first).then(second).build();
+    }
+
+    /**
+     * Memoize the results of this fun in a bounded cache.
+     * @param memoization configuration of the cache
+     * @return MemoizedFun
+     */
+    public MemoizedFun<I, O> memoize(Memoization<I, O> memoization) {
+        return new MemoizedFun<>(this, memoization);
+    }
+
+    /**
+     * Memoize the results of this fun in a bounded cache, and spill evicted results to a file.
+     * @param memoization configuration of the cache, without expiration
+     * @param spill configuration of the file
+     * @return MemoizedFun
+     * @throws IllegalArgumentException if the file is not empty and is not a spill file
+     */
+    public MemoizedFun<I, O> memoize(Memoization<I, O> memoization, Spill<I, O> spill) {
+        Objects.requireNonNull(spill);
+        return new MemoizedFun<>(this, memoization, spill);
+    }
+
+    @SuppressWarnings("unchecked")
+    List<FunPipeline.Stage> stages() {
+        if (function != null) {
+            return List.of(new FunPipeline.Stage(input -> function.apply((I) input), null));
+        }
+        if (exceptionFunction != null) {
+            return List.of(new FunPipeline.Stage(input -> exceptionFunction.apply((I) input), allowedException));
+        }
+        return List.of(new FunPipeline.Stage(input -> FunPipeline.valueOrFail(apply((I) input)), null));
     }
 
     public Result<O> apply(I i) {
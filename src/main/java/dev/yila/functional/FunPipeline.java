@@ -0,0 +1,169 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import dev.yila.functional.failure.Failure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Builder of a Fun from a sequence of plain and checked functions.
+ * The built Fun applies all the stages in a single loop, checks the allowed exception
+ * only when a stage fails, and creates a single Result at the end.
+ * @param <I> input of the pipeline
+ * @param <O> output of the pipeline
+ */
+public final class FunPipeline<I, O> {
+
+    /**
+     * Starts a pipeline with a fun.
+     * @param fun the first fun
+     * @return FunPipeline
+     * @param <I> input
+     * @param <O> output
+     */
+    public static <I, O> FunPipeline<I, O> of(Fun<I, O> fun) {
+        Objects.requireNonNull(fun);
+        return new FunPipeline<>(fun.stages());
+    }
+
+    /**
+     * Starts a pipeline with a function.
+     * @param function the first function
+     * @return FunPipeline
+     * @param <I> input
+     * @param <O> output
+     */
+    public static <I, O> FunPipeline<I, O> of(Function<I, O> function) {
+        return of(Fun.from(function));
+    }
+
+    private final List<Stage> stages;
+
+    private FunPipeline(List<Stage> stages) {
+        this.stages = stages;
+    }
+
+    /**
+     * Adds a fun to the pipeline.
+     * @param fun the next fun
+     * @return a new FunPipeline
+     * @param <R> new output
+     */
+    public <R> FunPipeline<I, R> then(Fun<O, R> fun) {
+        Objects.requireNonNull(fun);
+        List<Stage> next = new ArrayList<>(this.stages);
+        next.addAll(fun.stages());
+        return new FunPipeline<>(next);
+    }
+
+    /**
+     * Adds a function to the pipeline.
+     * @param function the next function
+     * @return a new FunPipeline
+     * @param <R> new output
+     */
+    public <R> FunPipeline<I, R> then(Function<O, R> function) {
+        return then(Fun.from(function));
+    }
+
+    /**
+     * Adds a function that can throw a checked exception to the pipeline.
+     * @param function the next function
+     * @param exceptionClass the exception that becomes a failure
+     * @return a new FunPipeline
+     * @param <R> new output
+     * @param <K> exception type
+     */
+    public <R, K extends Exception> FunPipeline<I, R> then(ExceptionFunction<O, R, K> function, Class<K> exceptionClass) {
+        return then(Fun.from(function, exceptionClass));
+    }
+
+    /**
+     * Compiles the pipeline in a Fun.
+     * @return Fun
+     */
+    public Fun<I, O> build() {
+        return new CompiledFun<>(List.copyOf(stages));
+    }
+
+    static Object valueOrFail(Result<?> result) {
+        if (result.hasFailure()) {
+            throw new StageFailure(result.failure().get());
+        }
+        return result.getOrThrow();
+    }
+
+    record Stage(ExceptionFunction<Object, Object, ? extends Exception> function,
+                 Class<? extends Exception> allowedException) {}
+
+    private static final class CompiledFun<I, O> extends Fun<I, O> {
+
+        private final List<Stage> stages;
+        private final ExceptionFunction<Object, Object, ? extends Exception>[] functions;
+
+        @SuppressWarnings("unchecked")
+        private CompiledFun(List<Stage> stages) {
+            this.stages = stages;
+            this.functions = stages.stream().map(Stage::function).toArray(ExceptionFunction[]::new);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Result<O> apply(I input) {
+            Object value = input;
+            int index = 0;
+            try {
+                for (; index < functions.length; index++) {
+                    value = functions[index].apply(value);
+                }
+            } catch (StageFailure stageFailure) {
+                return DirectResult.failure(stageFailure.failure);
+            } catch (Exception exception) {
+                return failure(stages.get(index).allowedException(), exception);
+            }
+            return DirectResult.ok((O) value);
+        }
+
+        @Override
+        List<Stage> stages() {
+            return stages;
+        }
+
+        private Result<O> failure(Class<? extends Exception> allowedException, Exception exception) {
+            if (allowedException == null) {
+                throw exception instanceof RuntimeException runtimeException
+                        ? runtimeException
+                        : new RuntimeException(exception);
+            }
+            if (allowedException.isAssignableFrom(exception.getClass())) {
+                return DirectResult.failure(exception);
+            }
+            throw new RuntimeException(exception);
+        }
+    }
+
+    private static final class StageFailure extends RuntimeException {
+
+        private final transient Failure failure;
+
+        private StageFailure(Failure failure) {
+            super(null, null, false, false);
+            this.failure = failure;
+        }
+    }
+}
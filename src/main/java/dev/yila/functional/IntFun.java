@@ -0,0 +1,82 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A function from int to int without boxing.
+ * Runtime exceptions thrown by the function are failures.
+ */
+public final class IntFun {
+
+    /**
+     * Creates a new IntFun.
+     * @param operator the function
+     * @return IntFun
+     */
+    public static IntFun from(IntUnaryOperator operator) {
+        Objects.requireNonNull(operator);
+        return new IntFun(operator);
+    }
+
+    private final IntUnaryOperator operator;
+
+    private IntFun(IntUnaryOperator operator) {
+        this.operator = operator;
+    }
+
+    /**
+     * Applies the function to a value.
+     * @param value the input
+     * @return Result with the output, or the failure if the function throws an exception
+     */
+    public Result<Integer> apply(int value) {
+        try {
+            return DirectResult.ok(operator.applyAsInt(value));
+        } catch (RuntimeException exception) {
+            return DirectResult.failure(exception);
+        }
+    }
+
+    /**
+     * Applies the function to all the input values, and stores the outputs in the same index of the output array.
+     * The loop has no per element checks, so the JIT can unroll it. When the function fails,
+     * the index is marked as failed, its output is not modified, and the loop continues with the next index.
+     *
+     * @param input the input values
+     * @param output array to store the outputs, with at least the input length
+     * @return indexes that failed
+     * @throws IllegalArgumentException if the output array is shorter than the input array
+     */
+    public BitSet applyAll(int[] input, int[] output) {
+        if (output.length < input.length) {
+            throw new IllegalArgumentException("Output array is shorter than input array.");
+        }
+        BitSet failures = new BitSet();
+        int index = 0;
+        while (index < input.length) {
+            try {
+                for (; index < input.length; index++) {
+                    output[index] = operator.applyAsInt(input[index]);
+                }
+            } catch (RuntimeException exception) {
+                failures.set(index++);
+            }
+        }
+        return failures;
+    }
+}
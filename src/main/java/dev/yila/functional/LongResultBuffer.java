@@ -0,0 +1,218 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import dev.yila.functional.failure.Failure;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Columnar batch of long results, success values are stored in a long array without boxing.
+ * Failures are stored as in ResultBuffer. Not thread safe.
+ */
+public final class LongResultBuffer {
+
+    /**
+     * Creates an empty buffer.
+     * @param capacity initial capacity
+     * @return LongResultBuffer
+     */
+    public static LongResultBuffer create(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity can not be negative.");
+        }
+        return new LongResultBuffer(new long[capacity], 0, new FailureColumn());
+    }
+
+    /**
+     * Creates a buffer with success values.
+     * @param values the values, the array is copied
+     * @return LongResultBuffer
+     */
+    public static LongResultBuffer of(long... values) {
+        return new LongResultBuffer(values.clone(), values.length, new FailureColumn());
+    }
+
+    private long[] values;
+    private int size;
+    private final FailureColumn failures;
+
+    private LongResultBuffer(long[] values, int size, FailureColumn failures) {
+        this.values = values;
+        this.size = size;
+        this.failures = failures;
+    }
+
+    /**
+     * Appends a success value.
+     * @param value the value
+     * @return this buffer
+     */
+    public LongResultBuffer add(long value) {
+        grow();
+        values[size++] = value;
+        return this;
+    }
+
+    /**
+     * Appends a failure.
+     * @param failure the failure
+     * @return this buffer
+     */
+    public LongResultBuffer addFailure(Failure failure) {
+        Objects.requireNonNull(failure);
+        grow();
+        failures.add(size++, failure);
+        return this;
+    }
+
+    /**
+     * Number of elements, success values and failures.
+     * @return int
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Number of failures.
+     * @return int
+     */
+    public int failureCount() {
+        return failures.count();
+    }
+
+    /**
+     * Result of an element, created on demand.
+     * @param index index of the element
+     * @return Result
+     */
+    public Result<Long> get(int index) {
+        Objects.checkIndex(index, size);
+        return failures.isFailed(index)
+                ? DirectResult.failure(failures.get(index))
+                : DirectResult.ok(values[index]);
+    }
+
+    /**
+     * View of the elements as results, each result is created when it is read.
+     * @return unmodifiable list
+     */
+    public List<Result<Long>> results() {
+        return new AbstractList<>() {
+            @Override
+            public Result<Long> get(int index) {
+                return LongResultBuffer.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Maps the success values to a new buffer, failures keep their index.
+     * When the operator throws a runtime exception, the element is a failure.
+     * @param operator the function to apply
+     * @return a new LongResultBuffer
+     */
+    public LongResultBuffer map(LongUnaryOperator operator) {
+        Objects.requireNonNull(operator);
+        LongResultBuffer mapped = new LongResultBuffer(new long[size], size, failures.copy());
+        int index = 0;
+        while (index < size) {
+            try {
+                for (; index < size; index++) {
+                    if (!failures.isFailed(index)) {
+                        mapped.values[index] = operator.applyAsLong(values[index]);
+                    }
+                }
+            } catch (RuntimeException exception) {
+                mapped.failures.add(index++, Failure.create(exception));
+            }
+        }
+        return mapped;
+    }
+
+    /**
+     * Maps the success values to objects in a new ResultBuffer, failures keep their index.
+     * When the function throws a runtime exception or returns null, the element is a failure.
+     * @param function the function to apply
+     * @return a new ResultBuffer
+     * @param <R> type of the new success values
+     */
+    public <R> ResultBuffer<R> mapToObj(LongFunction<R> function) {
+        Objects.requireNonNull(function);
+        Object[] mapped = new Object[size];
+        FailureColumn mappedFailures = failures.copy();
+        int index = 0;
+        while (index < size) {
+            try {
+                for (; index < size; index++) {
+                    if (!failures.isFailed(index)) {
+                        mapped[index] = Objects.requireNonNull(function.apply(values[index]),
+                                "The map function must not return null");
+                    }
+                }
+            } catch (RuntimeException exception) {
+                mappedFailures.add(index++, Failure.create(exception));
+            }
+        }
+        return new ResultBuffer<>(mapped, size, mappedFailures);
+    }
+
+    /**
+     * Keeps the success values that match the predicate in a new buffer, failures are kept.
+     * @param predicate the predicate
+     * @return a new LongResultBuffer
+     */
+    public LongResultBuffer filter(LongPredicate predicate) {
+        Objects.requireNonNull(predicate);
+        LongResultBuffer filtered = new LongResultBuffer(new long[size], 0, new FailureColumn());
+        for (int index = 0; index < size; index++) {
+            if (failures.isFailed(index)) {
+                filtered.failures.add(filtered.size++, failures.get(index));
+            } else if (predicate.test(values[index])) {
+                filtered.values[filtered.size++] = values[index];
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Sequences the buffer in a result with an array of the success values,
+     * or a MultipleFailures with all the failures in index order.
+     * @return Result
+     */
+    public Result<long[]> sequence() {
+        if (failures.count() > 0) {
+            return DirectResult.failures(failures.inOrder());
+        }
+        return DirectResult.ok(Arrays.copyOf(values, size));
+    }
+
+    private void grow() {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(16, size * 2));
+        }
+    }
+}
@@ -15,9 +15,11 @@ package dev.yila.functional;
 
 import dev.yila.functional.failure.MatcherNotFoundFailure;
 
+import java.lang.invoke.MethodHandle;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -66,7 +68,7 @@ public class Matcher<I, O> {
      * @return a function that returns true if the input equals the specified value
      */
     public static <Input> Function<Input, Boolean> EQ(Input input) {
-        return value -> value.equals(input);
+        return new MatcherCases.Equals<>(input);
     }
 
     /**
@@ -80,8 +82,31 @@ public class Matcher<I, O> {
         return value -> !value.equals(input);
     }
 
+    /**
+     * Creates a function that tests if a String starts with the prefix.
+     * A compiled matcher finds prefix cases walking a trie with the characters of the input.
+     *
+     * @param prefix the prefix to look for
+     * @return a function that returns true if the input starts with the prefix
+     */
+    public static Function<String, Boolean> PREFIX(String prefix) {
+        return new MatcherCases.Prefix(Objects.requireNonNull(prefix));
+    }
+
+    /**
+     * Creates a function that tests if a String ends with the suffix.
+     * A compiled matcher finds suffix cases walking a trie with the characters of the input in reverse order.
+     *
+     * @param suffix the suffix to look for
+     * @return a function that returns true if the input ends with the suffix
+     */
+    public static Function<String, Boolean> SUFFIX(String suffix) {
+        return new MatcherCases.Suffix(Objects.requireNonNull(suffix));
+    }
+
     private final List<Pair<Function<I, Boolean>, Function<I, O>>> matchers;
     private Function<I, DirectResult<O>> defaultCase = (input) -> DirectResult.failure(new MatcherNotFoundFailure(input));
+    private MatcherDispatch<I> dispatch;
 
     private Matcher(Class<I> inputClass, Class<O> outputClass) {
         this.matchers = Collections.EMPTY_LIST;
@@ -103,6 +128,12 @@ public class Matcher<I, O> {
         this.defaultCase = defaultCase;
     }
 
+    private Matcher(Matcher<I, O> matcher, MatcherDispatch<I> dispatch) {
+        this.matchers = matcher.matchers;
+        this.defaultCase = matcher.defaultCase;
+        this.dispatch = dispatch;
+    }
+
     /**
      * Adds a new match case to this matcher.
      * 
@@ -114,6 +145,69 @@ public class Matcher<I, O> {
         return new Matcher<>(this.matchers, Pair.of(matchFunction, outputFunction), this.defaultCase);
     }
 
+    /**
+     * Adds a new match case for inputs that are instances of the type.
+     * A compiled matcher resolves type cases once per concrete class of the inputs.
+     *
+     * @param type the type of the inputs of this case
+     * @param outputFunction the function that produces the output for inputs of the type
+     * @param <S> the type
+     * @return a new matcher with the additional case
+     */
+    public <S extends I> Matcher<I, O> onType(Class<S> type, Function<S, O> outputFunction) {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(outputFunction);
+        return on(new MatcherCases.Type<>(type), input -> outputFunction.apply(type.cast(input)));
+    }
+
+    /**
+     * Adds a new match case for comparable inputs from a lower bound, included, to an upper bound, excluded.
+     * A compiled matcher finds range cases with a binary search over their sorted bounds.
+     *
+     * @param from the lower bound, included
+     * @param to the upper bound, excluded
+     * @param outputFunction the function that produces the output for inputs in the range
+     * @return a new matcher with the additional case
+     * @throws IllegalArgumentException if the bounds are not comparable, or from is greater than to
+     */
+    public Matcher<I, O> onRange(I from, I to, Function<I, O> outputFunction) {
+        Objects.requireNonNull(outputFunction);
+        MatcherCases.Range<I> range = new MatcherCases.Range<>(from, to);
+        if (!range.valid()) {
+            throw new IllegalArgumentException("Range bounds must be comparable, and from not greater than to.");
+        }
+        return on(range, outputFunction);
+    }
+
+    /**
+     * Adds a new match case for inputs equal to any of the values. The values are copied once, when
+     * the case is added, to a compact open addressing set that is shared by the compiled matchers.
+     *
+     * @param values the values of the inputs of this case
+     * @param outputFunction the function that produces the output for inputs equal to any of the values
+     * @return a new matcher with the additional case
+     */
+    public Matcher<I, O> onAnyOf(Collection<? extends I> values, Function<I, O> outputFunction) {
+        return onAnyOf(values, false, outputFunction);
+    }
+
+    /**
+     * Adds a new match case for inputs equal to any of the values. The values are copied once, when
+     * the case is added, to a compact open addressing set that is shared by the compiled matchers.
+     * A Bloom filter prefilter speeds up the inputs that are not in very large sets, at the cost of
+     * one or two bytes per value.
+     *
+     * @param values the values of the inputs of this case
+     * @param prefilter whether to check a Bloom filter before looking up the set
+     * @param outputFunction the function that produces the output for inputs equal to any of the values
+     * @return a new matcher with the additional case
+     */
+    public Matcher<I, O> onAnyOf(Collection<? extends I> values, boolean prefilter, Function<I, O> outputFunction) {
+        Objects.requireNonNull(values);
+        Objects.requireNonNull(outputFunction);
+        return on(new MatcherCases.AnyOf<>(new MatcherSet(values, prefilter)), outputFunction);
+    }
+
     /**
      * Adds a default case that matches any input not matched by previous cases.
      * This case will always be evaluated last.
@@ -125,6 +219,42 @@ public class Matcher<I, O> {
         return new Matcher<>(this.matchers, function);
     }
 
+    /**
+     * Compiles the cases in a new matcher with the same results. Equality cases created with EQ
+     * are indexed in a hash table, type cases are cached per class, range cases are found with
+     * a binary search, PREFIX and SUFFIX cases are found in tries, and other cases are
+     * only evaluated if they are declared before the first matching indexed case. Adding cases to
+     * the compiled matcher returns a matcher that is not compiled.
+     *
+     * @return a new compiled matcher
+     */
+    public Matcher<I, O> compile() {
+        return new Matcher<>(this, new MatcherDispatch<>(matchers.stream().map(Pair::left).toList()));
+    }
+
+    /**
+     * Builds a method handle of type (Object)DirectResult that evaluates the cases of this matcher
+     * as a chain of guards, with every predicate and output function bound as a constant.
+     * Invoking the handle returns the same results as resultFor, and throws IllegalArgumentException
+     * for null inputs. The handle is built on each call, so keep it in a static final field and
+     * invoke it from there: the JIT can then inline the cases of this matcher and fold its constants,
+     * instead of sharing the call sites of every matcher. Cases are evaluated in order, so compile
+     * is a better fit for matchers with many indexable cases.
+     *
+     * <pre>{@code
+     * static final MethodHandle HANDLE = Matcher.create(Integer.class, String.class)
+     *         .on(EQ(1), number -> "one")
+     *         .compileToHandle();
+     *
+     * DirectResult<String> result = (DirectResult<String>) HANDLE.invokeExact((Object) 1);
+     * }</pre>
+     *
+     * @return a method handle of type (Object)DirectResult
+     */
+    public MethodHandle compileToHandle() {
+        return MatcherHandles.chain(matchers, defaultCase);
+    }
+
     /**
      * Evaluates the given input against all match cases and returns the result.
      * 
@@ -137,15 +267,18 @@ public class Matcher<I, O> {
         if (input == null) {
             throw new IllegalArgumentException("null is not allowed for as input");
         }
-        return getMatchingFunction(input)
-                .map(fun -> DirectResult.ok(fun.apply(input)))
-                .orElseGet(() -> defaultCase.apply(input));
+        int position = dispatch == null ? firstMatching(input) : dispatch.first(input);
+        return position < matchers.size()
+                ? DirectResult.ok(matchers.get(position).right().apply(input))
+                : defaultCase.apply(input);
     }
 
-    private Optional<Function<I, O>> getMatchingFunction(I input) {
-        return matchers.stream()
-                    .filter(pair -> pair.left().apply(input))
-                    .findFirst()
-                    .map(Pair::right);
+    private int firstMatching(I input) {
+        for (int position = 0; position < matchers.size(); position++) {
+            if (matchers.get(position).left().apply(input)) {
+                return position;
+            }
+        }
+        return MatcherDispatch.NONE;
     }
 }
@@ -0,0 +1,106 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import java.util.function.Function;
+
+/**
+ * Predicates of Matcher cases that a compiled Matcher can index.
+ * They are plain predicates too, so a Matcher that is not compiled evaluates them in order.
+ */
+final class MatcherCases {
+
+    private MatcherCases() {
+    }
+
+    /**
+     * Matches inputs equal to the value.
+     */
+    record Equals<I>(I value) implements Function<I, Boolean> {
+        @Override
+        public Boolean apply(I input) {
+            return input.equals(value);
+        }
+    }
+
+    /**
+     * Matches inputs that are instances of the type.
+     */
+    record Type<I>(Class<?> type) implements Function<I, Boolean> {
+        @Override
+        public Boolean apply(I input) {
+            return type.isInstance(input);
+        }
+    }
+
+    /**
+     * Matches comparable inputs from the lower bound, included, to the upper bound, excluded.
+     * Inputs that cannot be compared with the bounds do not match.
+     */
+    record Range<I>(I from, I to) implements Function<I, Boolean> {
+        @Override
+        @SuppressWarnings("unchecked")
+        public Boolean apply(I input) {
+            if (!(input instanceof Comparable<?>)) {
+                return false;
+            }
+            Comparable<I> comparable = (Comparable<I>) input;
+            try {
+                return comparable.compareTo(from) >= 0 && comparable.compareTo(to) < 0;
+            } catch (ClassCastException incomparable) {
+                return false;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        boolean valid() {
+            try {
+                return from instanceof Comparable<?> && to instanceof Comparable<?>
+                        && ((Comparable<I>) from).compareTo(to) <= 0;
+            } catch (ClassCastException incomparable) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Matches String inputs that start with the prefix.
+     */
+    record Prefix(String prefix) implements Function<String, Boolean> {
+        @Override
+        public Boolean apply(String input) {
+            return input.startsWith(prefix);
+        }
+    }
+
+    /**
+     * Matches String inputs that end with the suffix.
+     */
+    record Suffix(String suffix) implements Function<String, Boolean> {
+        @Override
+        public Boolean apply(String input) {
+            return input.endsWith(suffix);
+        }
+    }
+
+    /**
+     * Matches inputs contained in the set.
+     */
+    record AnyOf<I>(MatcherSet values) implements Function<I, Boolean> {
+        @Override
+        public Boolean apply(I input) {
+            return values.contains(input);
+        }
+    }
+}
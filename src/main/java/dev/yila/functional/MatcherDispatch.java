@@ -0,0 +1,222 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Finds the first case of a Matcher that matches an input. Indexable cases are looked up
+ * in their indexes, that return the lowest matching case position, and then only the
+ * generic predicates declared before that position are evaluated in order.
+ * Type cases are resolved once per concrete class of the inputs, and cached in a ClassValue.
+ * Range cases are grouped by the class of their bounds, and each group is split in sorted
+ * elementary intervals, each with its first declared case, and found with a binary search.
+ * Ranges with bounds of different classes are evaluated as generic predicates.
+ * Prefix and suffix cases are stored in tries, the suffixes reversed, and found walking the
+ * characters of the input, so the lookup depends on the length of the input and not on the
+ * number of cases.
+ */
+final class MatcherDispatch<I> {
+
+    static final int NONE = Integer.MAX_VALUE;
+
+    private final List<ToIntFunction<I>> indexes = new ArrayList<>();
+    private final int[] genericPositions;
+    private final List<Function<I, Boolean>> genericPredicates = new ArrayList<>();
+
+    MatcherDispatch(List<Function<I, Boolean>> predicates) {
+        Map<Object, Integer> equalities = new HashMap<>();
+        List<Pair<Class<?>, Integer>> types = new ArrayList<>();
+        Map<Class<?>, List<Pair<MatcherCases.Range<I>, Integer>>> ranges = new LinkedHashMap<>();
+        Trie prefixes = new Trie(false);
+        Trie suffixes = new Trie(true);
+        List<Integer> positions = new ArrayList<>();
+        for (int position = 0; position < predicates.size(); position++) {
+            Function<I, Boolean> predicate = predicates.get(position);
+            if (predicate instanceof MatcherCases.Equals<I> equals) {
+                if (equals.value() != null) {
+                    equalities.putIfAbsent(equals.value(), position);
+                }
+            } else if (predicate instanceof MatcherCases.Type<I> type) {
+                types.add(Pair.of(type.type(), position));
+            } else if (predicate instanceof MatcherCases.Range<I> range
+                    && range.from().getClass() == range.to().getClass()) {
+                ranges.computeIfAbsent(range.from().getClass(), bounds -> new ArrayList<>())
+                        .add(Pair.of(range, position));
+            } else if (predicate instanceof MatcherCases.Prefix prefix) {
+                prefixes.add(prefix.prefix(), position);
+            } else if (predicate instanceof MatcherCases.Suffix suffix) {
+                suffixes.add(suffix.suffix(), position);
+            } else {
+                positions.add(position);
+                genericPredicates.add(predicate);
+            }
+        }
+        if (!equalities.isEmpty()) {
+            indexes.add(input -> equalities.getOrDefault(input, NONE));
+        }
+        if (!types.isEmpty()) {
+            indexes.add(typeIndex(types));
+        }
+        for (List<Pair<MatcherCases.Range<I>, Integer>> group : ranges.values()) {
+            indexes.add(rangeIndex(group));
+        }
+        for (Trie trie : List.of(prefixes, suffixes)) {
+            if (!trie.isEmpty()) {
+                // PREFIX and SUFFIX cases are only accepted by matchers of String inputs
+                indexes.add(input -> trie.first((String) input));
+            }
+        }
+        this.genericPositions = positions.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    int first(I input) {
+        int best = NONE;
+        for (ToIntFunction<I> index : indexes) {
+            best = Math.min(best, index.applyAsInt(input));
+        }
+        for (int i = 0; i < genericPositions.length && genericPositions[i] < best; i++) {
+            if (genericPredicates.get(i).apply(input)) {
+                return genericPositions[i];
+            }
+        }
+        return best;
+    }
+
+    private static <I> ToIntFunction<I> typeIndex(List<Pair<Class<?>, Integer>> types) {
+        ClassValue<Integer> positions = new ClassValue<>() {
+            @Override
+            protected Integer computeValue(Class<?> inputClass) {
+                return types.stream()
+                        .filter(type -> type.left().isAssignableFrom(inputClass))
+                        .map(Pair::right)
+                        .findFirst()
+                        .orElse(NONE);
+            }
+        };
+        return input -> positions.get(input.getClass());
+    }
+
+    private static <I> ToIntFunction<I> rangeIndex(List<Pair<MatcherCases.Range<I>, Integer>> ranges) {
+        Object[] boundaries = boundaries(ranges);
+        int[] owners = new int[boundaries.length];
+        Arrays.fill(owners, NONE);
+        for (Pair<MatcherCases.Range<I>, Integer> range : ranges) {
+            int to = Arrays.binarySearch(boundaries, range.left().to());
+            for (int interval = Arrays.binarySearch(boundaries, range.left().from()); interval < to; interval++) {
+                owners[interval] = Math.min(owners[interval], range.right());
+            }
+        }
+        return input -> {
+            try {
+                int found = Arrays.binarySearch(boundaries, input);
+                int interval = found >= 0 ? found : -found - 2;
+                return interval < 0 ? NONE : owners[interval];
+            } catch (ClassCastException incomparable) {
+                return NONE;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <I> Object[] boundaries(List<Pair<MatcherCases.Range<I>, Integer>> ranges) {
+        Object[] sorted = new Object[ranges.size() * 2];
+        for (int i = 0; i < ranges.size(); i++) {
+            sorted[2 * i] = ranges.get(i).left().from();
+            sorted[2 * i + 1] = ranges.get(i).left().to();
+        }
+        Arrays.sort(sorted);
+        int unique = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (((Comparable<Object>) sorted[i]).compareTo(sorted[unique - 1]) != 0) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, unique);
+    }
+
+    private static final class Trie {
+
+        private final boolean reversed;
+        private final Node root = new Node();
+
+        Trie(boolean reversed) {
+            this.reversed = reversed;
+        }
+
+        void add(String key, int position) {
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.child(charAt(key, i));
+            }
+            node.position = Math.min(node.position, position);
+        }
+
+        boolean isEmpty() {
+            return root.position == NONE && root.labels.length == 0;
+        }
+
+        int first(String input) {
+            int best = NONE;
+            Node node = root;
+            for (int i = 0; node != null; i++) {
+                best = Math.min(best, node.position);
+                node = i < input.length() ? node.find(charAt(input, i)) : null;
+            }
+            return best;
+        }
+
+        private char charAt(String text, int index) {
+            return text.charAt(reversed ? text.length() - 1 - index : index);
+        }
+    }
+
+    private static final class Node {
+
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private int position = NONE;
+
+        Node find(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertion = -index - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertion);
+            System.arraycopy(children, 0, newChildren, 0, insertion);
+            System.arraycopy(labels, insertion, newLabels, insertion + 1, labels.length - insertion);
+            System.arraycopy(children, insertion, newChildren, insertion + 1, children.length - insertion);
+            newLabels[insertion] = label;
+            newChildren[insertion] = new Node();
+            labels = newLabels;
+            children = newChildren;
+            return newChildren[insertion];
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Builds a chain of guardWithTest method handles with the cases of a Matcher. Every predicate
+ * and output function is bound as a constant, so each matcher has its own call sites.
+ */
+final class MatcherHandles {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodHandle TEST = find("test",
+            MethodType.methodType(boolean.class, Function.class, Object.class));
+    private static final MethodHandle OUTPUT = find("output",
+            MethodType.methodType(DirectResult.class, Function.class, Object.class));
+    private static final MethodHandle OR_ELSE = find("orElse",
+            MethodType.methodType(DirectResult.class, Function.class, Object.class));
+    private static final MethodHandle REQUIRE_INPUT = find("requireInput",
+            MethodType.methodType(Object.class, Object.class));
+
+    private MatcherHandles() {
+    }
+
+    static <I, O> MethodHandle chain(List<Pair<Function<I, Boolean>, Function<I, O>>> matchers,
+                                     Function<I, DirectResult<O>> defaultCase) {
+        MethodHandle handle = MethodHandles.insertArguments(OR_ELSE, 0, defaultCase);
+        for (int position = matchers.size() - 1; position >= 0; position--) {
+            handle = MethodHandles.guardWithTest(
+                    MethodHandles.insertArguments(TEST, 0, matchers.get(position).left()),
+                    MethodHandles.insertArguments(OUTPUT, 0, matchers.get(position).right()),
+                    handle);
+        }
+        return MethodHandles.filterArguments(handle, 0, REQUIRE_INPUT);
+    }
+
+    private static MethodHandle find(String name, MethodType type) {
+        return DirectResult.createChecked(() -> LOOKUP.findStatic(MatcherHandles.class, name, type),
+                ReflectiveOperationException.class).getOrThrow();
+    }
+
+    private static boolean test(Function<Object, Boolean> predicate, Object input) {
+        return predicate.apply(input);
+    }
+
+    private static DirectResult<?> output(Function<Object, ?> function, Object input) {
+        return DirectResult.ok(function.apply(input));
+    }
+
+    private static DirectResult<?> orElse(Function<Object, DirectResult<?>> defaultCase, Object input) {
+        return defaultCase.apply(input);
+    }
+
+    private static Object requireInput(Object input) {
+        if (input == null) {
+            throw new IllegalArgumentException("null is not allowed for as input");
+        }
+        return input;
+    }
+}
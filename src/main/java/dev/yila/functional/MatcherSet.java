@@ -0,0 +1,93 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Immutable set of the values of an onAnyOf case. Values are stored in an open addressing table
+ * with linear probing, without entry objects, so large sets use a fraction of the memory of a
+ * HashSet. An optional Bloom filter, with 8 to 16 bits per value and 3 probes, rejects most of the
+ * values not in the set before probing the table.
+ */
+final class MatcherSet {
+
+    private static final int BLOOM_PROBES = 3;
+
+    private final Object[] table;
+    private final int mask;
+    private final long[] bloom;
+    private final int bloomMask;
+
+    MatcherSet(Collection<?> values, boolean prefilter) {
+        int capacity = Integer.highestOneBit(Math.max(2, values.size()) * 2 - 1) << 1;
+        this.table = new Object[capacity];
+        this.mask = capacity - 1;
+        int bloomBits = prefilter ? Math.max(Long.SIZE, capacity * 4) : 0;
+        this.bloom = new long[bloomBits / Long.SIZE];
+        this.bloomMask = bloomBits - 1;
+        for (Object value : values) {
+            add(Objects.requireNonNull(value));
+        }
+    }
+
+    boolean contains(Object value) {
+        int hash = hash(value);
+        if (bloom.length > 0 && !mightContain(hash)) {
+            return false;
+        }
+        for (int index = hash & mask; table[index] != null; index = (index + 1) & mask) {
+            if (table[index].equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void add(Object value) {
+        int hash = hash(value);
+        int index = hash & mask;
+        while (table[index] != null) {
+            if (table[index].equals(value)) {
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        table[index] = value;
+        for (int probe = 0; probe < BLOOM_PROBES && bloom.length > 0; probe++) {
+            int bit = bloomBit(hash, probe);
+            bloom[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private boolean mightContain(int hash) {
+        for (int probe = 0; probe < BLOOM_PROBES; probe++) {
+            int bit = bloomBit(hash, probe);
+            if ((bloom[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int bloomBit(int hash, int probe) {
+        return (hash + probe * (Integer.reverse(hash) | 1)) & bloomMask;
+    }
+
+    private static int hash(Object value) {
+        int hash = value.hashCode() * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Configuration to memoize a Fun in a bounded cache.
+ * By default, only success results are cached and never expire.
+ *
+ * @param maximumWeight maximum total weight of the cached results
+ * @param weigher weight of a success result, failures weigh 1
+ * @param expireAfterWrite time that a result is valid after cached, null if never expires
+ * @param cacheFailures if failure results are cached
+ * @param <I> input
+ * @param <O> output
+ */
+public record Memoization<I, O>(long maximumWeight, ToLongBiFunction<I, O> weigher,
+                                Duration expireAfterWrite, boolean cacheFailures) {
+
+    /**
+     * Memoization of a maximum number of results.
+     * @param maximumSize maximum number of cached results
+     * @return Memoization
+     * @param <I> input
+     * @param <O> output
+     */
+    public static <I, O> Memoization<I, O> maximumSize(long maximumSize) {
+        return new Memoization<>(maximumSize, (input, output) -> 1L, null, false);
+    }
+
+    /**
+     * Memoization with a maximum total weight of results.
+     * @param maximumWeight maximum total weight
+     * @param weigher weight of a success result
+     * @return Memoization
+     * @param <I> input
+     * @param <O> output
+     */
+    public static <I, O> Memoization<I, O> maximumWeight(long maximumWeight, ToLongBiFunction<I, O> weigher) {
+        return new Memoization<>(maximumWeight, weigher, null, false);
+    }
+
+    /**
+     * Constructs a new Memoization with validations.
+     * @param maximumWeight maximum total weight of the cached results
+     * @param weigher weight of a success result
+     * @param expireAfterWrite time that a result is valid after cached
+     * @param cacheFailures if failure results are cached
+     * @throws IllegalArgumentException if maximum weight or expire time are not positive
+     */
+    public Memoization {
+        if (maximumWeight < 1) {
+            throw new IllegalArgumentException("Maximum weight must be greater than 0.");
+        }
+        if (expireAfterWrite != null && expireAfterWrite.compareTo(Duration.ZERO) <= 0) {
+            throw new IllegalArgumentException("Expire time must be greater than 0.");
+        }
+        Objects.requireNonNull(weigher);
+    }
+
+    /**
+     * New memoization where results expire after the duration.
+     * @param duration time that a result is valid after cached
+     * @return Memoization
+     * @throws IllegalArgumentException if the duration is not positive
+     */
+    public Memoization<I, O> expireAfterWrite(Duration duration) {
+        Objects.requireNonNull(duration);
+        return new Memoization<>(maximumWeight, weigher, duration, cacheFailures);
+    }
+
+    /**
+     * New memoization that also caches failure results.
+     * @return Memoization
+     */
+    public Memoization<I, O> cachingFailures() {
+        return new Memoization<>(maximumWeight, weigher, expireAfterWrite, true);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import dev.yila.functional.codec.Codecs;
+
+import java.util.Objects;
+
+/**
+ * A Fun that caches its results in a bounded cache.
+ * Concurrent calls with the same input not cached yet can apply the fun more than once.
+ * With a Spill, results evicted from the cache are written to a file and loaded from it on a miss.
+ * @param <I> input
+ * @param <O> output
+ */
+public final class MemoizedFun<I, O> extends Fun<I, O> {
+
+    private final Fun<I, O> fun;
+    private final BoundedCache<I, Result<O>> cache;
+    private final boolean cacheFailures;
+    private final SpillFile<I, Result<O>> spill;
+
+    MemoizedFun(Fun<I, O> fun, Memoization<I, O> memoization) {
+        this(fun, memoization, null);
+    }
+
+    MemoizedFun(Fun<I, O> fun, Memoization<I, O> memoization, Spill<I, O> spill) {
+        Objects.requireNonNull(fun);
+        Objects.requireNonNull(memoization);
+        if (spill != null && memoization.expireAfterWrite() != null) {
+            throw new IllegalArgumentException("Spilled results can not expire.");
+        }
+        this.fun = fun;
+        this.cacheFailures = memoization.cacheFailures();
+        this.spill = spill == null ? null
+                : new SpillFile<>(spill.file(), spill.keyCodec(), Codecs.result(spill.valueCodec()));
+        this.cache = new BoundedCache<>(memoization.maximumWeight(),
+                (input, result) -> result.hasFailure() ? 1L : memoization.weigher().applyAsLong(input, result.getOrThrow()),
+                memoization.expireAfterWrite() == null ? 0 : memoization.expireAfterWrite().toNanos(),
+                this.spill == null ? null : this.spill::put);
+    }
+
+    @Override
+    public Result<O> apply(I input) {
+        Objects.requireNonNull(input);
+        return cache.get(input, this::load, result -> cacheFailures || !result.hasFailure());
+    }
+
+    /**
+     * Remove the cached result of the input.
+     * @param input the input
+     */
+    public void invalidate(I input) {
+        cache.invalidate(input);
+        if (spill != null) {
+            spill.remove(input);
+        }
+    }
+
+    /**
+     * Write all the cached results to the spill file and flush it to disk, to reuse them after a restart.
+     * Does nothing without a Spill.
+     */
+    public void persist() {
+        if (spill != null) {
+            cache.forEach(spill::put);
+            spill.force();
+        }
+    }
+
+    /**
+     * Number of results in the spill file.
+     * @return size, 0 without a Spill
+     */
+    public long spilled() {
+        return spill == null ? 0 : spill.size();
+    }
+
+    /**
+     * Number of cached results.
+     * @return size
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Statistics of the cache.
+     * @return CacheStats
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private Result<O> load(I input) {
+        Result<O> spilled = spill == null ? null : spill.get(input);
+        return spilled != null ? spilled : fun.apply(input);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import dev.yila.functional.failure.Failure;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Reduce of a collection in the common fork join pool, splitting the work in subtasks.
+ * Each subtask starts with the identity and folds its elements with the accumulator,
+ * then partial values are joined with the combiner.
+ */
+final class ParallelReduce<T, R> {
+
+    private static final int MINIMUM_SPLIT = 1024;
+
+    private final Object[] elements;
+    private final R identity;
+    private final Fun2<R, T, R> accumulator;
+    private final Fun2<R, R, R> combiner;
+    private final boolean allFailures;
+    private final int threshold;
+    private final AtomicReference<Failure> firstFailure = new AtomicReference<>();
+
+    private ParallelReduce(Object[] elements, R identity, Fun2<R, T, R> accumulator,
+                           Fun2<R, R, R> combiner, boolean allFailures) {
+        this.elements = elements;
+        this.identity = identity;
+        this.accumulator = accumulator;
+        this.combiner = combiner;
+        this.allFailures = allFailures;
+        this.threshold = Math.max(MINIMUM_SPLIT,
+                elements.length / (ForkJoinPool.getCommonPoolParallelism() * 4));
+    }
+
+    static <T, R> Result<R> reduce(Collection<T> collection, R identity, Fun2<R, T, R> accumulator,
+                                   Fun2<R, R, R> combiner, boolean allFailures) {
+        Objects.requireNonNull(collection);
+        Objects.requireNonNull(identity);
+        Objects.requireNonNull(accumulator);
+        Objects.requireNonNull(combiner);
+        ParallelReduce<T, R> reduce = new ParallelReduce<>(collection.toArray(), identity,
+                accumulator, combiner, allFailures);
+        Partial<R> partial = ForkJoinPool.commonPool().invoke(reduce.new Task(0, reduce.elements.length));
+        Failure failure = reduce.firstFailure.get();
+        if (failure != null) {
+            return DirectResult.failure(failure);
+        }
+        return partial.failures.isEmpty()
+                ? DirectResult.ok(partial.value)
+                : DirectResult.failures(partial.failures);
+    }
+
+    private boolean stopped() {
+        return firstFailure.get() != null;
+    }
+
+    private void fail(List<Failure> failures, Result<R> result) {
+        Failure failure = result.failure().get();
+        if (allFailures) {
+            failures.add(failure);
+        } else {
+            firstFailure.compareAndSet(null, failure);
+        }
+    }
+
+    private Result<R> apply(Supplier<Result<R>> step) {
+        try {
+            return step.get();
+        } catch (RuntimeException exception) {
+            return DirectResult.failure(exception);
+        }
+    }
+
+    private record Partial<R>(R value, List<Failure> failures) {}
+
+    private final class Task extends RecursiveTask<Partial<R>> {
+
+        private final int from;
+        private final int to;
+
+        private Task(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial<R> compute() {
+            if (stopped()) {
+                return new Partial<>(identity, List.of());
+            }
+            if (to - from <= threshold) {
+                return fold();
+            }
+            int middle = (from + to) >>> 1;
+            ForkJoinTask<Partial<R>> left = new Task(from, middle).fork();
+            Partial<R> right = new Task(middle, to).compute();
+            Partial<R> leftPartial = left.join();
+            if (stopped()) {
+                return right;
+            }
+            List<Failure> failures = new ArrayList<>(leftPartial.failures);
+            failures.addAll(right.failures);
+            Result<R> combined = apply(() -> combiner.apply(leftPartial.value, right.value));
+            if (combined.hasFailure()) {
+                fail(failures, combined);
+                return new Partial<>(leftPartial.value, failures);
+            }
+            return new Partial<>(combined.getOrThrow(), failures);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Partial<R> fold() {
+            R value = identity;
+            List<Failure> failures = new ArrayList<>();
+            for (int i = from; i < to && !stopped(); i++) {
+                R current = value;
+                T element = (T) elements[i];
+                Result<R> next = apply(() -> accumulator.apply(current, element));
+                if (next.hasFailure()) {
+                    fail(failures, next);
+                } else {
+                    value = next.getOrThrow();
+                }
+            }
+            return new Partial<>(value, failures);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scheduler that dispatches work to an executor by priority.
+ * Each priority level delays the work an aging period, so waiting low priority work
+ * ends running before new high priority work and never starves. Work with the same
+ * deadline runs in submission order.
+ */
+public final class PriorityScheduler {
+
+    /**
+     * Priority classes, from highest to lowest.
+     */
+    public enum Priority {
+        /**
+         * Work that a user is waiting for.
+         */
+        INTERACTIVE,
+        /**
+         * Default priority.
+         */
+        NORMAL,
+        /**
+         * Background work.
+         */
+        BATCH
+    }
+
+    /**
+     * Creates a new PriorityScheduler.
+     *
+     * @param executor the executor that runs the work
+     * @param aging time waiting after low priority work goes before next priority level work
+     * @return a new PriorityScheduler
+     */
+    public static PriorityScheduler create(Executor executor, Duration aging) {
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(aging);
+        return new PriorityScheduler(executor, aging.toNanos());
+    }
+
+    private final Executor executor;
+    private final long agingNanos;
+    private final PriorityBlockingQueue<Task> queue = new PriorityBlockingQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Executor[] executors;
+
+    private PriorityScheduler(Executor executor, long agingNanos) {
+        this.executor = executor;
+        this.agingNanos = agingNanos;
+        Priority[] priorities = Priority.values();
+        this.executors = new Executor[priorities.length];
+        for (Priority priority : priorities) {
+            this.executors[priority.ordinal()] = runnable -> schedule(runnable, priority);
+        }
+    }
+
+    /**
+     * Executor that schedules all the work with the priority.
+     * @param priority the priority of the work
+     * @return executor
+     */
+    public Executor executor(Priority priority) {
+        return executors[priority.ordinal()];
+    }
+
+    /**
+     * Number of tasks waiting to run.
+     * @return size of the queue
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    private void schedule(Runnable runnable, Priority priority) {
+        Objects.requireNonNull(runnable);
+        Task task = new Task(runnable, System.nanoTime() + priority.ordinal() * agingNanos,
+                sequence.getAndIncrement());
+        queue.add(task);
+        try {
+            executor.execute(this::runNext);
+        } catch (RuntimeException exception) {
+            queue.remove(task);
+            throw exception;
+        }
+    }
+
+    private void runNext() {
+        Task task = queue.poll();
+        if (task != null) {
+            task.runnable.run();
+        }
+    }
+
+    private record Task(Runnable runnable, long deadline, long sequence) implements Comparable<Task> {
+        @Override
+        public int compareTo(Task other) {
+            int byDeadline = Long.signum(deadline - other.deadline);
+            return byDeadline != 0 ? byDeadline : Long.compare(sequence, other.sequence);
+        }
+    }
+}
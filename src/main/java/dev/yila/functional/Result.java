@@ -15,6 +15,7 @@ package dev.yila.functional;
 
 import dev.yila.functional.failure.Failure;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -118,4 +119,38 @@ public sealed interface Result<T> permits DirectResult, LazyResult, AsyncResult
      * @return
      */
     Optional<T> value();
+
+    /**
+     * Reduce the collection in parallel, in the common fork join pool. The identity is the initial value
+     * of every subtask, so it must be an identity for the combiner.
+     * The first failure found cancels the outstanding subtasks, and is the failure of the result.
+     * Runtime exceptions thrown by the accumulator or the combiner are failures.
+     * @param collection elements to reduce
+     * @param identity initial value of every subtask
+     * @param accumulator folds an element in a partial value
+     * @param combiner joins two partial values
+     * @return result with the reduced value or the first failure found
+     * @param <T> type of the elements
+     * @param <R> type of the reduced value
+     */
+    static <T, R> Result<R> parallelReduce(Collection<T> collection, R identity,
+                                           Fun2<R, T, R> accumulator, Fun2<R, R, R> combiner) {
+        return ParallelReduce.reduce(collection, identity, accumulator, combiner, false);
+    }
+
+    /**
+     * Reduce the collection in parallel as parallelReduce, but failed steps are skipped
+     * and the reduce continues, returning all the failures in a MultipleFailures.
+     * @param collection elements to reduce
+     * @param identity initial value of every subtask
+     * @param accumulator folds an element in a partial value
+     * @param combiner joins two partial values
+     * @return result with the reduced value or all the failures
+     * @param <T> type of the elements
+     * @param <R> type of the reduced value
+     */
+    static <T, R> Result<R> parallelReduceAllFailures(Collection<T> collection, R identity,
+                                                      Fun2<R, T, R> accumulator, Fun2<R, R, R> combiner) {
+        return ParallelReduce.reduce(collection, identity, accumulator, combiner, true);
+    }
 }
@@ -0,0 +1,230 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import dev.yila.functional.failure.Failure;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Columnar batch of results. Success values are stored in an array, and failures in a bitmap
+ * with a sparse map from index to failure, so no Result instances are created until they are requested.
+ * Values can be appended, bulk operations return a new buffer. Not thread safe.
+ * @param <T> type of the success values
+ */
+public final class ResultBuffer<T> {
+
+    /**
+     * Creates an empty buffer.
+     * @param capacity initial capacity
+     * @return ResultBuffer
+     * @param <T> type of the success values
+     */
+    public static <T> ResultBuffer<T> create(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity can not be negative.");
+        }
+        return new ResultBuffer<>(new Object[capacity], 0, new FailureColumn());
+    }
+
+    /**
+     * Creates a buffer with success values.
+     * @param values the values
+     * @return ResultBuffer
+     * @param <T> type of the success values
+     */
+    public static <T> ResultBuffer<T> of(Collection<T> values) {
+        ResultBuffer<T> buffer = create(values.size());
+        values.forEach(buffer::add);
+        return buffer;
+    }
+
+    /**
+     * Creates a buffer from results.
+     * @param results the results
+     * @return ResultBuffer
+     * @param <T> type of the success values
+     */
+    public static <T> ResultBuffer<T> ofResults(Collection<? extends Result<T>> results) {
+        ResultBuffer<T> buffer = create(results.size());
+        results.forEach(buffer::add);
+        return buffer;
+    }
+
+    private Object[] values;
+    private int size;
+    private final FailureColumn failures;
+
+    ResultBuffer(Object[] values, int size, FailureColumn failures) {
+        this.values = values;
+        this.size = size;
+        this.failures = failures;
+    }
+
+    /**
+     * Appends a success value.
+     * @param value not null value
+     * @return this buffer
+     */
+    public ResultBuffer<T> add(T value) {
+        Objects.requireNonNull(value);
+        grow();
+        values[size++] = value;
+        return this;
+    }
+
+    /**
+     * Appends a failure.
+     * @param failure the failure
+     * @return this buffer
+     */
+    public ResultBuffer<T> addFailure(Failure failure) {
+        Objects.requireNonNull(failure);
+        grow();
+        failures.add(size++, failure);
+        return this;
+    }
+
+    /**
+     * Appends the value or the failure of a result.
+     * @param result the result
+     * @return this buffer
+     */
+    public ResultBuffer<T> add(Result<T> result) {
+        return result.hasFailure() ? addFailure(result.failure().get()) : add(result.getOrThrow());
+    }
+
+    /**
+     * Number of elements, success values and failures.
+     * @return int
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Number of failures.
+     * @return int
+     */
+    public int failureCount() {
+        return failures.count();
+    }
+
+    /**
+     * Result of an element, created on demand.
+     * @param index index of the element
+     * @return Result
+     */
+    @SuppressWarnings("unchecked")
+    public Result<T> get(int index) {
+        Objects.checkIndex(index, size);
+        return failures.isFailed(index)
+                ? DirectResult.failure(failures.get(index))
+                : DirectResult.ok((T) values[index]);
+    }
+
+    /**
+     * View of the elements as results, each result is created when it is read.
+     * @return unmodifiable list
+     */
+    public List<Result<T>> results() {
+        return new AbstractList<>() {
+            @Override
+            public Result<T> get(int index) {
+                return ResultBuffer.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Maps the success values to a new buffer, failures keep their index.
+     * When the function throws a runtime exception or returns null, the element is a failure.
+     * @param function the function to apply
+     * @return a new ResultBuffer
+     * @param <R> new type of the success values
+     */
+    @SuppressWarnings("unchecked")
+    public <R> ResultBuffer<R> map(Function<T, R> function) {
+        Objects.requireNonNull(function);
+        ResultBuffer<R> mapped = new ResultBuffer<>(new Object[size], size, failures.copy());
+        int index = 0;
+        while (index < size) {
+            try {
+                for (; index < size; index++) {
+                    if (!failures.isFailed(index)) {
+                        mapped.values[index] = Objects.requireNonNull(function.apply((T) values[index]),
+                                "The map function must not return null");
+                    }
+                }
+            } catch (RuntimeException exception) {
+                mapped.failures.add(index++, Failure.create(exception));
+            }
+        }
+        return mapped;
+    }
+
+    /**
+     * Keeps the success values that match the predicate in a new buffer, failures are kept.
+     * @param predicate the predicate
+     * @return a new ResultBuffer
+     */
+    @SuppressWarnings("unchecked")
+    public ResultBuffer<T> filter(Predicate<T> predicate) {
+        Objects.requireNonNull(predicate);
+        ResultBuffer<T> filtered = new ResultBuffer<>(new Object[size], 0, new FailureColumn());
+        for (int index = 0; index < size; index++) {
+            if (failures.isFailed(index)) {
+                filtered.failures.add(filtered.size++, failures.get(index));
+            } else if (predicate.test((T) values[index])) {
+                filtered.values[filtered.size++] = values[index];
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Sequences the buffer in a result with the list of success values,
+     * or a MultipleFailures with all the failures in index order.
+     * @return Result
+     */
+    @SuppressWarnings("unchecked")
+    public Result<List<T>> sequence() {
+        if (failures.count() > 0) {
+            return DirectResult.failures(failures.inOrder());
+        }
+        List<T> list = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            list.add((T) values[index]);
+        }
+        return DirectResult.ok(list);
+    }
+
+    private void grow() {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(16, size * 2));
+        }
+    }
+}
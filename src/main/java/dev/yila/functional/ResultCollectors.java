@@ -0,0 +1,156 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import dev.yila.functional.failure.Failure;
+import dev.yila.functional.failure.FailureAggregator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collector;
+
+/**
+ * Collectors of streams of results, in one pass and safe with parallel streams.
+ */
+public final class ResultCollectors {
+
+    private ResultCollectors() {
+    }
+
+    /**
+     * Splits the results in the success values and the failures, keeping the encounter order.
+     * @return collector of a pair with the success values on left, and the failures on right
+     * @param <T> type of the success values
+     */
+    public static <T> Collector<Result<T>, ?, Pair<List<T>, List<Failure>>> partition() {
+        return Collector.of(Accumulator<T>::new, Accumulator::add, Accumulator::combine,
+                accumulator -> Pair.of(accumulator.values, accumulator.failures));
+    }
+
+    /**
+     * Sequences the results in a result with the list of success values,
+     * or a MultipleFailures with all the failures.
+     * @return collector of a result
+     * @param <T> type of the success values
+     */
+    public static <T> Collector<Result<T>, ?, Result<List<T>>> sequence() {
+        return Collector.of(Accumulator<T>::new, Accumulator::add, Accumulator::combine,
+                accumulator -> accumulator.failures.isEmpty()
+                        ? DirectResult.ok(accumulator.values)
+                        : DirectResult.failures(accumulator.failures));
+    }
+
+    /**
+     * Sequences the results in a result with the list of success values, or an AggregatedFailures
+     * with the failures counted by group and only the first examples of each group,
+     * so huge batches with many failures use bounded memory.
+     * @param examplesPerGroup maximum number of failures stored per group
+     * @param maxGroups maximum number of groups
+     * @return collector of a result
+     * @param <T> type of the success values
+     */
+    public static <T> Collector<Result<T>, ?, Result<List<T>>> sequence(int examplesPerGroup, int maxGroups) {
+        return Collector.of(() -> new AggregatorAccumulator<T>(FailureAggregator.create(examplesPerGroup, maxGroups)),
+                AggregatorAccumulator::add, AggregatorAccumulator::combine,
+                accumulator -> accumulator.failures.total() == 0
+                        ? DirectResult.ok(accumulator.values)
+                        : DirectResult.failure(accumulator.failures.toFailure()));
+    }
+
+    /**
+     * Sequences the results in a result with the list of success values, or the first failure.
+     * After the first failure, next results are ignored and success values are not stored.
+     * @return collector of a result
+     * @param <T> type of the success values
+     */
+    public static <T> Collector<Result<T>, ?, Result<List<T>>> sequenceFirstFailure() {
+        return Collector.of(FirstFailureAccumulator<T>::new, FirstFailureAccumulator::add,
+                FirstFailureAccumulator::combine,
+                accumulator -> accumulator.failure == null
+                        ? DirectResult.ok(accumulator.values)
+                        : DirectResult.failure(accumulator.failure));
+    }
+
+    private static final class Accumulator<T> {
+
+        private final List<T> values = new ArrayList<>();
+        private final List<Failure> failures = new ArrayList<>();
+
+        private void add(Result<T> result) {
+            if (result.hasFailure()) {
+                failures.add(result.failure().get());
+            } else {
+                values.add(result.getOrThrow());
+            }
+        }
+
+        private Accumulator<T> combine(Accumulator<T> other) {
+            values.addAll(other.values);
+            failures.addAll(other.failures);
+            return this;
+        }
+    }
+
+    private static final class AggregatorAccumulator<T> {
+
+        private final List<T> values = new ArrayList<>();
+        private final FailureAggregator failures;
+
+        private AggregatorAccumulator(FailureAggregator failures) {
+            this.failures = failures;
+        }
+
+        private void add(Result<T> result) {
+            if (result.hasFailure()) {
+                failures.add(result.failure().get());
+            } else if (failures.total() == 0) {
+                values.add(result.getOrThrow());
+            }
+        }
+
+        private AggregatorAccumulator<T> combine(AggregatorAccumulator<T> other) {
+            values.addAll(other.values);
+            failures.merge(other.failures);
+            return this;
+        }
+    }
+
+    private static final class FirstFailureAccumulator<T> {
+
+        private List<T> values = new ArrayList<>();
+        private Failure failure;
+
+        private void add(Result<T> result) {
+            if (failure == null) {
+                if (result.hasFailure()) {
+                    failure = result.failure().get();
+                    values = null;
+                } else {
+                    values.add(result.getOrThrow());
+                }
+            }
+        }
+
+        private FirstFailureAccumulator<T> combine(FirstFailureAccumulator<T> other) {
+            if (failure != null) {
+                return this;
+            }
+            if (other.failure != null) {
+                return other;
+            }
+            values.addAll(other.values);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded executor that returns AsyncResult on every submission.
+ * When the queue is full, the shedding policy decides what happens with the work,
+ * rejected work ends as a failure in the result instead of an exception.
+ */
+public final class ResultExecutor implements Executor {
+
+    /**
+     * What to do with new work when the queue is full.
+     */
+    public enum SheddingPolicy {
+        /**
+         * The new work is rejected, and its result is a failure.
+         */
+        REJECT,
+        /**
+         * The new work runs in the thread that submits it.
+         */
+        CALLER_RUNS,
+        /**
+         * The oldest queued work is dropped, and its result is a failure.
+         */
+        DROP_OLDEST
+    }
+
+    /**
+     * Snapshot of the executor metrics.
+     *
+     * @param queueDepth number of tasks waiting in the queue
+     * @param completed number of tasks executed
+     * @param rejected number of tasks rejected
+     * @param dropped number of queued tasks dropped
+     * @param waitNanos total time that executed tasks waited in the queue
+     * @param runNanos total time running tasks
+     */
+    public record Metrics(int queueDepth, long completed, long rejected, long dropped, long waitNanos, long runNanos) {
+
+        /**
+         * Average time that executed tasks waited in the queue.
+         * @return nanoseconds
+         */
+        public long averageWaitNanos() {
+            return completed == 0 ? 0 : waitNanos / completed;
+        }
+
+        /**
+         * Average time running tasks.
+         * @return nanoseconds
+         */
+        public long averageRunNanos() {
+            return completed == 0 ? 0 : runNanos / completed;
+        }
+    }
+
+    /**
+     * Creates a new ResultExecutor with a fixed number of threads and a bounded queue.
+     *
+     * @param threads number of threads
+     * @param queueCapacity maximum number of tasks waiting to be executed
+     * @param policy what to do when the queue is full
+     * @return a new ResultExecutor
+     */
+    public static ResultExecutor create(int threads, int queueCapacity, SheddingPolicy policy) {
+        Objects.requireNonNull(policy);
+        return new ResultExecutor(threads, queueCapacity, policy);
+    }
+
+    private final ThreadPoolExecutor pool;
+    private final SheddingPolicy policy;
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+
+    private ResultExecutor(int threads, int queueCapacity, SheddingPolicy policy) {
+        this.policy = policy;
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), this::shed);
+    }
+
+    /**
+     * Executes the supplier and returns the result.
+     *
+     * @param supplier the supplier that provides the result value
+     * @param <T> the type of the result value
+     * @return an AsyncResult, that is a failure if the supplier fails or the work is rejected
+     */
+    public <T> AsyncResult<T> submit(Supplier<T> supplier) {
+        Objects.requireNonNull(supplier);
+        return submitResult(() -> DirectResult.ok(supplier.get()));
+    }
+
+    /**
+     * Applies the fun to the input and returns the result.
+     *
+     * @param fun the fun to apply
+     * @param input the input of the fun
+     * @param <I> the input type
+     * @param <O> the output type
+     * @return an AsyncResult, that is a failure if the fun fails or the work is rejected
+     */
+    public <I, O> AsyncResult<O> submit(Fun<I, O> fun, I input) {
+        Objects.requireNonNull(fun);
+        return submitResult(() -> fun.apply(input));
+    }
+
+    /**
+     * Executes the runnable following the shedding policy.
+     * @param runnable the runnable task
+     * @throws RejectedExecutionException if the task is rejected
+     */
+    @Override
+    public void execute(Runnable runnable) {
+        Objects.requireNonNull(runnable);
+        pool.execute(new Task(runnable, null));
+    }
+
+    /**
+     * Current metrics of the executor.
+     * @return metrics snapshot
+     */
+    public Metrics metrics() {
+        return new Metrics(pool.getQueue().size(), completed.sum(), rejected.sum(),
+                dropped.sum(), waitNanos.sum(), runNanos.sum());
+    }
+
+    /**
+     * Stops accepting work, queued work is still executed.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private <T> AsyncResult<T> submitResult(Supplier<Result<T>> work) {
+        CompletableFuture<Result<T>> promise = new CompletableFuture<>();
+        pool.execute(new Task(() -> {
+            try {
+                promise.complete(work.get());
+            } catch (Exception exception) {
+                promise.complete(DirectResult.failure(exception));
+            } catch (Error error) {
+                promise.completeExceptionally(new CompletionException(error));
+                throw error;
+            }
+        }, () -> promise.complete(DirectResult.failure(new RejectedWork()))));
+        return AsyncResult.fromResult(Runnable::run, promise);
+    }
+
+    private void shed(Runnable runnable, ThreadPoolExecutor executor) {
+        Task task = (Task) runnable;
+        if (executor.isShutdown()) {
+            reject(task);
+            return;
+        }
+        switch (policy) {
+            case CALLER_RUNS -> task.run();
+            case DROP_OLDEST -> {
+                Task oldest = (Task) executor.getQueue().poll();
+                if (oldest != null) {
+                    dropped.increment();
+                    oldest.notifyRejection();
+                }
+                executor.execute(task);
+            }
+            default -> reject(task);
+        }
+    }
+
+    private void reject(Task task) {
+        rejected.increment();
+        if (task.onReject == null) {
+            throw new RejectedExecutionException("Task rejected by ResultExecutor");
+        }
+        task.notifyRejection();
+    }
+
+    /**
+     * Rejections are expected under overload, so they do not capture the stack trace.
+     */
+    private static final class RejectedWork extends RejectedExecutionException {
+
+        private RejectedWork() {
+            super("Work rejected by ResultExecutor");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    private final class Task implements Runnable {
+
+        private final Runnable work;
+        private final Runnable onReject;
+        private final long enqueued = System.nanoTime();
+
+        private Task(Runnable work, Runnable onReject) {
+            this.work = work;
+            this.onReject = onReject;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            waitNanos.add(start - enqueued);
+            try {
+                work.run();
+            } finally {
+                runNanos.add(System.nanoTime() - start);
+                completed.increment();
+            }
+        }
+
+        private void notifyRejection() {
+            if (onReject != null) {
+                onReject.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import dev.yila.functional.failure.Failure;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Lazy stream of results, elements are pulled from the source one by one when a terminal
+ * operation is executed, so memory usage doesn't depend on the number of elements.
+ * Failures flow along the stream, they can be sent to a sink, and the terminal operations
+ * stop at the first failure that reaches them. A ResultStream can be consumed only once.
+ * @param <T> type of the success values
+ */
+public final class ResultStream<T> {
+
+    /**
+     * Creates a stream of success values.
+     * @param source the values
+     * @return ResultStream
+     * @param <T> type of the values
+     */
+    public static <T> ResultStream<T> of(Iterable<T> source) {
+        Objects.requireNonNull(source);
+        return of(source.iterator());
+    }
+
+    /**
+     * Creates a stream of success values.
+     * @param source iterator of the values
+     * @return ResultStream
+     * @param <T> type of the values
+     */
+    public static <T> ResultStream<T> of(Iterator<T> source) {
+        Objects.requireNonNull(source);
+        return new ResultStream<>(new Next<>(() -> source.hasNext() ? DirectResult.ok(source.next()) : null));
+    }
+
+    /**
+     * Creates a stream of results.
+     * @param source iterator of the results
+     * @return ResultStream
+     * @param <T> type of the success values
+     */
+    public static <T> ResultStream<T> ofResults(Iterator<Result<T>> source) {
+        Objects.requireNonNull(source);
+        return new ResultStream<>(source);
+    }
+
+    private final Iterator<Result<T>> source;
+
+    private ResultStream(Iterator<Result<T>> source) {
+        this.source = source;
+    }
+
+    /**
+     * Maps the success values.
+     * @param function the function to apply
+     * @return a new ResultStream
+     * @param <R> new type of the success values
+     */
+    public <R> ResultStream<R> map(Function<T, R> function) {
+        Objects.requireNonNull(function);
+        return next(() -> source.hasNext() ? source.next().map(function) : null);
+    }
+
+    /**
+     * Maps the success values with a fun.
+     * @param fun the fun to apply
+     * @return a new ResultStream
+     * @param <R> new type of the success values
+     */
+    public <R> ResultStream<R> map(Fun<T, R> fun) {
+        Objects.requireNonNull(fun);
+        return next(() -> source.hasNext() ? source.next().map(fun) : null);
+    }
+
+    /**
+     * Flatten maps the success values.
+     * @param function the function that returns a new result
+     * @return a new ResultStream
+     * @param <R> new type of the success values
+     */
+    public <R> ResultStream<R> flatMap(Function<T, Result<R>> function) {
+        Objects.requireNonNull(function);
+        return next(() -> source.hasNext() ? source.next().flatMap(function) : null);
+    }
+
+    /**
+     * Keeps the success values that match the predicate, failures are kept.
+     * @param predicate the predicate
+     * @return a new ResultStream
+     */
+    public ResultStream<T> filter(Predicate<T> predicate) {
+        Objects.requireNonNull(predicate);
+        return next(() -> {
+            while (source.hasNext()) {
+                Result<T> result = source.next();
+                if (result.hasFailure() || predicate.test(result.getOrThrow())) {
+                    return result;
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Sends the failures to the sink as they occur, and removes them from the stream.
+     * @param sink consumer of the failures
+     * @return a new ResultStream
+     */
+    public ResultStream<T> onFailure(Consumer<Failure> sink) {
+        return onFailure(sink, Long.MAX_VALUE);
+    }
+
+    /**
+     * Sends the failures to the sink as they occur, and removes them from the stream.
+     * The failure that reaches the maximum number of failures is also kept in the stream,
+     * so the terminal operation stops with it.
+     * @param sink consumer of the failures
+     * @param maxFailures number of failures to stop the stream
+     * @return a new ResultStream
+     */
+    public ResultStream<T> onFailure(Consumer<Failure> sink, long maxFailures) {
+        Objects.requireNonNull(sink);
+        if (maxFailures < 1) {
+            throw new IllegalArgumentException("Max failures must be greater than 0.");
+        }
+        long[] failures = {0};
+        return next(() -> {
+            while (source.hasNext()) {
+                Result<T> result = source.next();
+                if (!result.hasFailure()) {
+                    return result;
+                }
+                sink.accept(result.failure().get());
+                if (++failures[0] >= maxFailures) {
+                    return result;
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Consumes the success values one by one.
+     * @param consumer consumer of the values
+     * @return number of consumed values, or the first failure that stopped the stream
+     */
+    public Result<Long> forEach(Consumer<T> consumer) {
+        Objects.requireNonNull(consumer);
+        long count = 0;
+        while (source.hasNext()) {
+            Result<T> result = source.next();
+            if (result.hasFailure()) {
+                return DirectResult.failure(result.failure().get());
+            }
+            consumer.accept(result.getOrThrow());
+            count++;
+        }
+        return DirectResult.ok(count);
+    }
+
+    /**
+     * Consumes the success values in chunks. When a failure stops the stream,
+     * the values before the failure are consumed in a last chunk.
+     * @param size maximum size of a chunk
+     * @param consumer consumer of the chunks
+     * @return number of consumed values, or the first failure that stopped the stream
+     */
+    public Result<Long> forEachChunk(int size, Consumer<List<T>> consumer) {
+        Objects.requireNonNull(consumer);
+        if (size < 1) {
+            throw new IllegalArgumentException("Chunk size must be greater than 0.");
+        }
+        List<T> chunk = new ArrayList<>(size);
+        Result<Long> result = forEach(value -> {
+            chunk.add(value);
+            if (chunk.size() == size) {
+                consumer.accept(List.copyOf(chunk));
+                chunk.clear();
+            }
+        });
+        if (!chunk.isEmpty()) {
+            consumer.accept(List.copyOf(chunk));
+        }
+        return result;
+    }
+
+    /**
+     * Iterator of the results, to consume the stream with a custom logic.
+     * @return iterator
+     */
+    public Iterator<Result<T>> iterator() {
+        return source;
+    }
+
+    private <R> ResultStream<R> next(Supplier<Result<R>> supplier) {
+        return new ResultStream<>(new Next<>(supplier));
+    }
+
+    private static final class Next<R> implements Iterator<Result<R>> {
+
+        private final Supplier<Result<R>> supplier;
+        private Result<R> next;
+        private boolean done;
+
+        private Next(Supplier<Result<R>> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                next = supplier.get();
+                done = next == null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public Result<R> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Result<R> result = next;
+            next = null;
+            return result;
+        }
+    }
+}
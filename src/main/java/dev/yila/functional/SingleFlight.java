@@ -0,0 +1,121 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent computations of the same key.
+ * While a computation is in flight, all the callers of the same key share its AsyncResult.
+ * Once completed, the key is computed again in the next call.
+ * @param <K> key type
+ * @param <V> value type
+ */
+public final class SingleFlight<K, V> {
+
+    /**
+     * Creates a SingleFlight that applies the fun in the executor.
+     *
+     * @param executor the executor where the fun is applied
+     * @param fun the fun that computes the value of a key
+     * @param <K> key type
+     * @param <V> value type
+     * @return a new SingleFlight
+     */
+    public static <K, V> SingleFlight<K, V> create(Executor executor, Fun<K, V> fun) {
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(fun);
+        return new SingleFlight<>(key -> AsyncResult.fromResult(executor,
+                CompletableFuture.supplyAsync(() -> fun.apply(key), executor)));
+    }
+
+    /**
+     * Creates a SingleFlight from an async loader.
+     *
+     * @param loader the function that starts the computation of a key
+     * @param <K> key type
+     * @param <V> value type
+     * @return a new SingleFlight
+     */
+    public static <K, V> SingleFlight<K, V> create(Function<K, AsyncResult<V>> loader) {
+        Objects.requireNonNull(loader);
+        return new SingleFlight<>(loader);
+    }
+
+    private final Function<K, AsyncResult<V>> loader;
+    private final ConcurrentHashMap<K, AsyncResult<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder saved = new LongAdder();
+
+    private SingleFlight(Function<K, AsyncResult<V>> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Result of the key, shared with the other callers while in flight.
+     * @param key the key to compute
+     * @return AsyncResult
+     */
+    public AsyncResult<V> get(K key) {
+        Objects.requireNonNull(key);
+        AsyncResult<V> current = inFlight.get(key);
+        if (current == null) {
+            CompletableFuture<Result<V>> promise = new CompletableFuture<>();
+            AsyncResult<V> candidate = AsyncResult.fromResult(Runnable::run, promise);
+            current = inFlight.putIfAbsent(key, candidate);
+            if (current == null) {
+                load(key, candidate, promise);
+                return candidate;
+            }
+        }
+        saved.increment();
+        return current;
+    }
+
+    private void load(K key, AsyncResult<V> candidate, CompletableFuture<Result<V>> promise) {
+        try {
+            loader.apply(key).future().whenComplete((result, throwable) -> {
+                inFlight.remove(key, candidate);
+                if (throwable != null) {
+                    promise.completeExceptionally(throwable);
+                } else {
+                    promise.complete(result);
+                }
+            });
+        } catch (RuntimeException exception) {
+            inFlight.remove(key, candidate);
+            promise.complete(DirectResult.failure(exception));
+        }
+    }
+
+    /**
+     * Number of calls that shared an in flight computation instead of starting a new one.
+     * @return saved calls
+     */
+    public long saved() {
+        return saved.sum();
+    }
+
+    /**
+     * Number of computations in flight.
+     * @return in flight computations
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import dev.yila.functional.codec.Codec;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Configuration to spill the results evicted from a memoized Fun to a memory-mapped file.
+ * Results in the file are loaded again on a cache miss, and are reused when the file is opened again,
+ * so the memoized Fun must be deterministic.
+ *
+ * @param file the file, created if not exists, an existing file must be empty or a spill file
+ * @param keyCodec codec of the inputs, that must have a hashCode stable between executions
+ * @param valueCodec codec of the success values
+ * @param <I> input
+ * @param <O> output
+ */
+public record Spill<I, O>(Path file, Codec<I> keyCodec, Codec<O> valueCodec) {
+
+    /**
+     * Spill to a file.
+     * @param file the file
+     * @param keyCodec codec of the inputs
+     * @param valueCodec codec of the success values
+     * @return Spill
+     * @param <I> input
+     * @param <O> output
+     */
+    public static <I, O> Spill<I, O> to(Path file, Codec<I> keyCodec, Codec<O> valueCodec) {
+        return new Spill<>(file, keyCodec, valueCodec);
+    }
+
+    /**
+     * Constructs a new Spill with validations.
+     * @param file the file
+     * @param keyCodec codec of the inputs
+     * @param valueCodec codec of the success values
+     */
+    public Spill {
+        Objects.requireNonNull(file);
+        Objects.requireNonNull(keyCodec);
+        Objects.requireNonNull(valueCodec);
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import dev.yila.functional.codec.Codec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only file of key values, memory-mapped and indexed in memory by the hash of the keys.
+ * Records are [length][checksum][kind][key hash][key][value], with a CRC32C checksum of the bytes
+ * after it. Pages of a mapped file are written back in any order, so when the file is opened again
+ * the records are loaded until the first one with a wrong length or checksum, like a record
+ * partially written before a crash. Removed keys are written as tombstones.
+ * When most of the file is dead records, it is compacted in the background.
+ * An existing file is only used if it is empty or starts with the magic number of a spill file.
+ * Keys must have a hashCode stable between executions, like strings or numbers.
+ */
+final class SpillFile<K, V> {
+
+    private static final int MAGIC = 0x59465332;
+    private static final int RECORD_HEADER = Integer.BYTES + Integer.BYTES + 1 + Integer.BYTES;
+    private static final int MINIMUM_SIZE = 1 << 16;
+    private static final byte VALUE = 0;
+    private static final byte TOMBSTONE = 1;
+
+    private final Path path;
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicBoolean compacting = new AtomicBoolean(false);
+    private Map<Integer, int[]> index = new HashMap<>();
+    private MappedByteBuffer buffer;
+    private int position;
+    private long liveBytes;
+    private int size;
+
+    SpillFile(Path path, Codec<K> keyCodec, Codec<V> valueCodec) {
+        this.path = path;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.buffer = map(path, MINIMUM_SIZE);
+        load();
+    }
+
+    V get(K key) {
+        lock.lock();
+        try {
+            int offset = find(key);
+            if (offset < 0) {
+                return null;
+            }
+            ByteBuffer record = buffer.duplicate().position(offset + RECORD_HEADER);
+            keyCodec.decode(record);
+            return valueCodec.decode(record);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean put(K key, V value) {
+        lock.lock();
+        try {
+            return find(key) >= 0 || write(VALUE, key, value);
+        } catch (UncheckedIOException | IllegalArgumentException exception) {
+            // the file can not grow, or is over the 2GB limit of a mapping
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void remove(K key) {
+        lock.lock();
+        try {
+            int offset = find(key);
+            if (offset >= 0) {
+                unindex(key.hashCode(), offset);
+                write(TOMBSTONE, key, null);
+            }
+        } catch (UncheckedIOException | IllegalArgumentException exception) {
+            // the file can not grow, the key is back if the file is opened again
+        } finally {
+            lock.unlock();
+        }
+        compactIfWasteful();
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long deadBytes() {
+        lock.lock();
+        try {
+            return position - Integer.BYTES - liveBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void force() {
+        lock.lock();
+        try {
+            buffer.force();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void compact() {
+        lock.lock();
+        try {
+            Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+            Files.deleteIfExists(compacted);
+            MappedByteBuffer target = map(compacted, Math.max(MINIMUM_SIZE, Integer.BYTES + liveBytes));
+            Map<Integer, int[]> compactedIndex = new HashMap<>();
+            int compactedPosition = Integer.BYTES;
+            for (Map.Entry<Integer, int[]> entry : index.entrySet()) {
+                int[] offsets = new int[entry.getValue().length];
+                for (int i = 0; i < offsets.length; i++) {
+                    int length = recordLength(entry.getValue()[i]);
+                    target.put(compactedPosition, buffer, entry.getValue()[i], length);
+                    offsets[i] = compactedPosition;
+                    compactedPosition += length;
+                }
+                compactedIndex.put(entry.getKey(), offsets);
+            }
+            target.force();
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            buffer = target;
+            index = compactedIndex;
+            position = compactedPosition;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void compactIfWasteful() {
+        if (deadBytes() > Math.max(liveBytes, MINIMUM_SIZE) && compacting.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    compact();
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        }
+    }
+
+    private void load() {
+        position = Integer.BYTES;
+        for (int length = storedLength(position); length > 0; length = storedLength(position)) {
+            ByteBuffer record = buffer.duplicate().position(position + 2 * Integer.BYTES);
+            byte kind = record.get();
+            int hash = record.getInt();
+            K key = keyCodec.decode(record);
+            int offset = find(key);
+            if (offset >= 0) {
+                unindex(hash, offset);
+            }
+            if (kind == VALUE) {
+                index(hash, position);
+            }
+            position += Integer.BYTES + length;
+        }
+    }
+
+    private boolean write(byte kind, K key, V value) {
+        int length = RECORD_HEADER + keyCodec.size(key) + (kind == VALUE ? valueCodec.size(value) : 0);
+        long required = (long) position + length + Integer.BYTES;
+        if (required > buffer.capacity()) {
+            buffer = map(path, Math.max(Math.min(Integer.MAX_VALUE, 2L * buffer.capacity()), required));
+        }
+        ByteBuffer record = buffer.duplicate().position(position + 2 * Integer.BYTES);
+        record.put(kind).putInt(key.hashCode());
+        keyCodec.encode(key, record);
+        if (kind == VALUE) {
+            valueCodec.encode(value, record);
+        }
+        buffer.putInt(position + Integer.BYTES, checksum(position, length - Integer.BYTES));
+        buffer.putInt(position, length - Integer.BYTES);
+        if (kind == VALUE) {
+            index(key.hashCode(), position);
+        }
+        position += length;
+        return true;
+    }
+
+    private int find(K key) {
+        int[] offsets = index.get(key.hashCode());
+        if (offsets != null) {
+            for (int offset : offsets) {
+                if (key.equals(keyCodec.decode(buffer.duplicate().position(offset + RECORD_HEADER)))) {
+                    return offset;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void index(int hash, int offset) {
+        int[] offsets = index.get(hash);
+        int[] updated = offsets == null ? new int[1] : Arrays.copyOf(offsets, offsets.length + 1);
+        updated[updated.length - 1] = offset;
+        index.put(hash, updated);
+        liveBytes += recordLength(offset);
+        size++;
+    }
+
+    private void unindex(int hash, int offset) {
+        int[] offsets = index.get(hash);
+        int[] updated = Arrays.stream(offsets).filter(each -> each != offset).toArray();
+        if (updated.length == 0) {
+            index.remove(hash);
+        } else {
+            index.put(hash, updated);
+        }
+        liveBytes -= recordLength(offset);
+        size--;
+    }
+
+    private int storedLength(int offset) {
+        int length = offset + Integer.BYTES <= buffer.capacity() ? buffer.getInt(offset) : 0;
+        boolean valid = length >= RECORD_HEADER - Integer.BYTES
+                && (long) offset + Integer.BYTES + length <= buffer.capacity()
+                && buffer.getInt(offset + Integer.BYTES) == checksum(offset, length);
+        return valid ? length : 0;
+    }
+
+    private int checksum(int offset, int storedLength) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate()
+                .limit(offset + Integer.BYTES + storedLength)
+                .position(offset + 2 * Integer.BYTES));
+        return (int) crc.getValue();
+    }
+
+    private int recordLength(int offset) {
+        return Integer.BYTES + buffer.getInt(offset);
+    }
+
+    private static MappedByteBuffer map(Path path, long capacity) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(magic, 0);
+            if (channel.size() > 0 && (magic.hasRemaining() || magic.getInt(0) != MAGIC)) {
+                throw new IllegalArgumentException("Not a spill file: " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(capacity, channel.size()));
+            mapped.putInt(0, MAGIC);
+            return mapped;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
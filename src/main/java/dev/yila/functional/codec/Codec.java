@@ -0,0 +1,55 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binary codec of values, that writes to and reads from a ByteBuffer without intermediate copies.
+ * @param <T> type of the values
+ */
+public interface Codec<T> {
+
+    /**
+     * Number of bytes of the encoded value, to allocate buffers of the exact size.
+     * @param value the value
+     * @return number of bytes
+     */
+    int size(T value);
+
+    /**
+     * Writes the value at the position of the buffer.
+     * @param value the value
+     * @param buffer buffer with at least size(value) remaining bytes
+     */
+    void encode(T value, ByteBuffer buffer);
+
+    /**
+     * Reads a value at the position of the buffer.
+     * @param buffer the buffer
+     * @return the value
+     */
+    T decode(ByteBuffer buffer);
+
+    /**
+     * Encodes the value in a new buffer of the exact size, ready to be read.
+     * @param value the value
+     * @return the buffer
+     */
+    default ByteBuffer toBuffer(T value) {
+        ByteBuffer buffer = ByteBuffer.allocate(size(value));
+        encode(value, buffer);
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,390 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional.codec;
+
+import dev.yila.functional.DirectResult;
+import dev.yila.functional.Pair;
+import dev.yila.functional.Result;
+import dev.yila.functional.failure.Failure;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Binary codecs of values, results, pairs and failures, and framing to write them to NIO channels.
+ * Values are written in big endian, strings in UTF-8 with a length prefix.
+ */
+public final class Codecs {
+
+    private Codecs() {
+    }
+
+    /**
+     * Default maximum length of a frame read from a channel, 64 MB.
+     */
+    public static final int MAXIMUM_FRAME_LENGTH = 64 * 1024 * 1024;
+
+    /**
+     * Codec of int values.
+     */
+    public static final Codec<Integer> INTEGER = new Codec<>() {
+        @Override
+        public int size(Integer value) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(Integer value, ByteBuffer buffer) {
+            buffer.putInt(value);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    };
+
+    /**
+     * Codec of long values.
+     */
+    public static final Codec<Long> LONG = new Codec<>() {
+        @Override
+        public int size(Long value) {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void encode(Long value, ByteBuffer buffer) {
+            buffer.putLong(value);
+        }
+
+        @Override
+        public Long decode(ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+    };
+
+    /**
+     * Codec of double values.
+     */
+    public static final Codec<Double> DOUBLE = new Codec<>() {
+        @Override
+        public int size(Double value) {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void encode(Double value, ByteBuffer buffer) {
+            buffer.putDouble(value);
+        }
+
+        @Override
+        public Double decode(ByteBuffer buffer) {
+            return buffer.getDouble();
+        }
+    };
+
+    /**
+     * Codec of byte arrays.
+     */
+    public static final Codec<byte[]> BYTES = new Codec<>() {
+        @Override
+        public int size(byte[] value) {
+            return Integer.BYTES + value.length;
+        }
+
+        @Override
+        public void encode(byte[] value, ByteBuffer buffer) {
+            buffer.putInt(value.length).put(value);
+        }
+
+        @Override
+        public byte[] decode(ByteBuffer buffer) {
+            byte[] value = new byte[length(buffer.getInt(), buffer)];
+            buffer.get(value);
+            return value;
+        }
+    };
+
+    /**
+     * Codec of strings, null is supported.
+     */
+    public static final Codec<String> STRING = new Codec<>() {
+        @Override
+        public int size(String value) {
+            return sizeOfString(value);
+        }
+
+        @Override
+        public void encode(String value, ByteBuffer buffer) {
+            encodeString(value, buffer);
+        }
+
+        @Override
+        public String decode(ByteBuffer buffer) {
+            return decodeString(buffer);
+        }
+    };
+
+    /**
+     * Codec of failures. DescriptionFailure, CodeDescriptionFailure, ExceptionFailure, MultipleFailures
+     * and MatcherNotFoundFailure keep their structure; the value of a MatcherNotFoundFailure is written as string.
+     * Exceptions are read as DecodedException with the original class name and message.
+     * Other failures are read as a DescriptionFailure with their string.
+     */
+    public static final Codec<Failure> FAILURE = new FailureCodec<>(STRING, String.class);
+
+    /**
+     * Codec of failures as FAILURE, with a codec for the values of MatcherNotFoundFailure.
+     * @param valueCodec codec of the values
+     * @param valueClass class of the values, values of other classes are written as FAILURE does
+     * @return codec of failures
+     * @param <V> type of the values
+     */
+    public static <V> Codec<Failure> failure(Codec<V> valueCodec, Class<V> valueClass) {
+        Objects.requireNonNull(valueCodec);
+        Objects.requireNonNull(valueClass);
+        return new FailureCodec<>(valueCodec, valueClass);
+    }
+
+    /**
+     * Codec of results, read as DirectResult. An AsyncResult waits to be completed when it is written.
+     * @param valueCodec codec of the success values
+     * @return codec of results
+     * @param <T> type of the success values
+     */
+    public static <T> Codec<Result<T>> result(Codec<T> valueCodec) {
+        return result(valueCodec, FAILURE);
+    }
+
+    /**
+     * Codec of results, read as DirectResult.
+     * @param valueCodec codec of the success values
+     * @param failureCodec codec of the failures
+     * @return codec of results
+     * @param <T> type of the success values
+     */
+    public static <T> Codec<Result<T>> result(Codec<T> valueCodec, Codec<Failure> failureCodec) {
+        Objects.requireNonNull(valueCodec);
+        Objects.requireNonNull(failureCodec);
+        return new Codec<>() {
+            @Override
+            public int size(Result<T> result) {
+                return 1 + (result.hasFailure()
+                        ? failureCodec.size(result.failure().get())
+                        : valueCodec.size(result.getOrThrow()));
+            }
+
+            @Override
+            public void encode(Result<T> result, ByteBuffer buffer) {
+                if (result.hasFailure()) {
+                    failureCodec.encode(result.failure().get(), buffer.put((byte) 1));
+                } else {
+                    valueCodec.encode(result.getOrThrow(), buffer.put((byte) 0));
+                }
+            }
+
+            @Override
+            public Result<T> decode(ByteBuffer buffer) {
+                return buffer.get() == 0
+                        ? DirectResult.ok(valueCodec.decode(buffer))
+                        : DirectResult.failure(failureCodec.decode(buffer));
+            }
+        };
+    }
+
+    /**
+     * Codec of pairs.
+     * @param leftCodec codec of the left values
+     * @param rightCodec codec of the right values
+     * @return codec of pairs
+     * @param <L> type of the left values
+     * @param <R> type of the right values
+     */
+    public static <L, R> Codec<Pair<L, R>> pair(Codec<L> leftCodec, Codec<R> rightCodec) {
+        Objects.requireNonNull(leftCodec);
+        Objects.requireNonNull(rightCodec);
+        return new Codec<>() {
+            @Override
+            public int size(Pair<L, R> pair) {
+                return leftCodec.size(pair.left()) + rightCodec.size(pair.right());
+            }
+
+            @Override
+            public void encode(Pair<L, R> pair, ByteBuffer buffer) {
+                leftCodec.encode(pair.left(), buffer);
+                rightCodec.encode(pair.right(), buffer);
+            }
+
+            @Override
+            public Pair<L, R> decode(ByteBuffer buffer) {
+                return Pair.of(leftCodec.decode(buffer), rightCodec.decode(buffer));
+            }
+        };
+    }
+
+    /**
+     * Writes a value to a channel, in a frame with the length of the value.
+     * The value is encoded once in a buffer of the exact size.
+     * @param codec codec of the value
+     * @param value the value
+     * @param channel the channel
+     * @return result with the number of bytes written, or the IOException
+     * @param <T> type of the value
+     */
+    public static <T> Result<Integer> write(Codec<T> codec, T value, WritableByteChannel channel) {
+        return DirectResult.createChecked(() -> {
+            int size = codec.size(value);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(Integer.BYTES + size).putInt(size);
+            codec.encode(value, buffer);
+            buffer.flip();
+            int written = 0;
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+            return written;
+        }, IOException.class);
+    }
+
+    /**
+     * Reads a value written with write from a channel, in a frame of at most MAXIMUM_FRAME_LENGTH bytes.
+     * @param codec codec of the value
+     * @param channel the channel
+     * @return result with the value, or the IOException, an EOFException if the channel ends before the value,
+     *         or a StreamCorruptedException if the frame is not valid
+     * @param <T> type of the value
+     */
+    public static <T> Result<T> read(Codec<T> codec, ReadableByteChannel channel) {
+        return read(codec, channel, MAXIMUM_FRAME_LENGTH);
+    }
+
+    /**
+     * Reads a value written with write from a channel.
+     * @param codec codec of the value
+     * @param channel the channel
+     * @param maximumLength maximum length of the frame, a longer frame is not valid
+     * @return result with the value, or the IOException, an EOFException if the channel ends before the value,
+     *         or a StreamCorruptedException if the frame is not valid
+     * @param <T> type of the value
+     */
+    public static <T> Result<T> read(Codec<T> codec, ReadableByteChannel channel, int maximumLength) {
+        return DirectResult.createChecked(() -> {
+            int length = fill(ByteBuffer.allocate(Integer.BYTES), channel).getInt();
+            if (length < 0 || length > maximumLength) {
+                throw new StreamCorruptedException("Invalid frame length: " + length);
+            }
+            ByteBuffer frame = fill(ByteBuffer.allocate(length), channel);
+            try {
+                return codec.decode(frame);
+            } catch (RuntimeException exception) {
+                StreamCorruptedException corrupted = new StreamCorruptedException("Invalid value in frame: " + exception);
+                corrupted.initCause(exception);
+                throw corrupted;
+            }
+        }, IOException.class);
+    }
+
+    static int length(int length, ByteBuffer buffer) {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid length: " + length + ", remaining bytes: " + buffer.remaining());
+        }
+        return length;
+    }
+
+    private static ByteBuffer fill(ByteBuffer buffer, ReadableByteChannel channel) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("End of channel before the end of the value");
+            }
+        }
+        return buffer.flip();
+    }
+
+    static int sizeOfString(String value) {
+        if (value == null) {
+            return Integer.BYTES;
+        }
+        int size = Integer.BYTES;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                size += 1;
+            } else if (c < 0x800) {
+                size += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                size += 4;
+                i++;
+            } else {
+                size += 3;
+            }
+        }
+        return size;
+    }
+
+    static void encodeString(String value, ByteBuffer buffer) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        int lengthPosition = buffer.position();
+        buffer.putInt(0);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)))
+                        .put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >> 18)))
+                        .put((byte) (0x80 | ((codePoint >> 12) & 0x3F)))
+                        .put((byte) (0x80 | ((codePoint >> 6) & 0x3F)))
+                        .put((byte) (0x80 | (codePoint & 0x3F)));
+            } else {
+                char encoded = Character.isSurrogate(c) ? '\uFFFD' : c;
+                buffer.put((byte) (0xE0 | (encoded >> 12)))
+                        .put((byte) (0x80 | ((encoded >> 6) & 0x3F)))
+                        .put((byte) (0x80 | (encoded & 0x3F)));
+            }
+        }
+        buffer.putInt(lengthPosition, buffer.position() - lengthPosition - Integer.BYTES);
+    }
+
+    static String decodeString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+        length(length, buffer);
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional.codec;
+
+import dev.yila.functional.failure.CodeDescriptionFailure;
+import dev.yila.functional.failure.DecodedException;
+import dev.yila.functional.failure.ExceptionFailure;
+import dev.yila.functional.failure.Failure;
+import dev.yila.functional.failure.MatcherNotFoundFailure;
+import dev.yila.functional.failure.MultipleFailures;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static dev.yila.functional.codec.Codecs.decodeString;
+import static dev.yila.functional.codec.Codecs.encodeString;
+import static dev.yila.functional.codec.Codecs.sizeOfString;
+
+/**
+ * Codec of failures, each failure type is written with a tag byte and its fields.
+ */
+final class FailureCodec<V> implements Codec<Failure> {
+
+    private static final byte DESCRIPTION = 0;
+    private static final byte CODE_DESCRIPTION = 1;
+    private static final byte EXCEPTION = 2;
+    private static final byte MULTIPLE = 3;
+    private static final byte MATCHER_VALUE = 4;
+    private static final byte MATCHER_STRING = 5;
+
+    private final Codec<V> valueCodec;
+    private final Class<V> valueClass;
+
+    FailureCodec(Codec<V> valueCodec, Class<V> valueClass) {
+        this.valueCodec = valueCodec;
+        this.valueClass = valueClass;
+    }
+
+    @Override
+    public int size(Failure failure) {
+        return 1 + switch (failure) {
+            case CodeDescriptionFailure code -> sizeOfString(code.getCode()) + sizeOfString(code.getDescription());
+            case ExceptionFailure exception -> sizeOfString(className(exception.getException()))
+                    + sizeOfString(exception.getException().getMessage());
+            case MultipleFailures multiple -> Integer.BYTES + multiple.getFailures().stream().mapToInt(this::size).sum();
+            case MatcherNotFoundFailure matcher -> valueClass.isInstance(matcher.getValue())
+                    ? valueCodec.size(valueClass.cast(matcher.getValue()))
+                    : sizeOfString(matcher.getValue().toString());
+            default -> sizeOfString(failure.toString());
+        };
+    }
+
+    @Override
+    public void encode(Failure failure, ByteBuffer buffer) {
+        switch (failure) {
+            case CodeDescriptionFailure code -> {
+                encodeString(code.getCode(), buffer.put(CODE_DESCRIPTION));
+                encodeString(code.getDescription(), buffer);
+            }
+            case ExceptionFailure exception -> {
+                encodeString(className(exception.getException()), buffer.put(EXCEPTION));
+                encodeString(exception.getException().getMessage(), buffer);
+            }
+            case MultipleFailures multiple -> {
+                buffer.put(MULTIPLE).putInt(multiple.getFailures().size());
+                multiple.getFailures().forEach(each -> encode(each, buffer));
+            }
+            case MatcherNotFoundFailure matcher -> {
+                if (valueClass.isInstance(matcher.getValue())) {
+                    valueCodec.encode(valueClass.cast(matcher.getValue()), buffer.put(MATCHER_VALUE));
+                } else {
+                    encodeString(matcher.getValue().toString(), buffer.put(MATCHER_STRING));
+                }
+            }
+            default -> encodeString(failure.toString(), buffer.put(DESCRIPTION));
+        }
+    }
+
+    @Override
+    public Failure decode(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        return switch (tag) {
+            case DESCRIPTION -> Failure.create(decodeString(buffer));
+            case CODE_DESCRIPTION -> CodeDescriptionFailure.create(decodeString(buffer), decodeString(buffer));
+            case EXCEPTION -> Failure.create(new DecodedException(decodeString(buffer), decodeString(buffer)));
+            case MULTIPLE -> {
+                // each failure takes at least the byte of its tag
+                int size = Codecs.length(buffer.getInt(), buffer);
+                List<Failure> failures = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    failures.add(decode(buffer));
+                }
+                yield new MultipleFailures(failures);
+            }
+            case MATCHER_VALUE -> new MatcherNotFoundFailure(valueCodec.decode(buffer));
+            case MATCHER_STRING -> new MatcherNotFoundFailure(decodeString(buffer));
+            default -> throw new IllegalArgumentException("Unknown failure tag: " + tag);
+        };
+    }
+
+    private static String className(Exception exception) {
+        return exception instanceof DecodedException decoded
+                ? decoded.getClassName()
+                : exception.getClass().getName();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional.failure;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A failure that summarizes many failures with counts per group and the first examples of each group.
+ * The string is rendered on the first call, and the exception only when it is requested.
+ */
+public final class AggregatedFailures implements Failure {
+
+    /**
+     * A group of failures.
+     *
+     * @param key the key of the group
+     * @param count number of failures in the group
+     * @param examples first failures of the group
+     */
+    public record Group(String key, long count, List<Failure> examples) {}
+
+    private final List<Group> groups;
+    private final long total;
+    private final long overflow;
+    private volatile String rendered;
+
+    AggregatedFailures(List<Group> groups, long total, long overflow) {
+        this.groups = groups;
+        this.total = total;
+        this.overflow = overflow;
+    }
+
+    /**
+     * Returns the groups, in order of the first failure of each group.
+     *
+     * @return the groups
+     */
+    public List<Group> getGroups() {
+        return groups;
+    }
+
+    /**
+     * Returns the total number of failures.
+     *
+     * @return long
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the number of failures that were not grouped, because the maximum number of groups was reached.
+     *
+     * @return long
+     */
+    public long getOverflow() {
+        return overflow;
+    }
+
+    @Override
+    public String toString() {
+        String value = rendered;
+        if (value == null) {
+            value = total + " failures [" + groups.stream()
+                    .map(group -> group.key() + " (" + group.count() + ")" + group.examples().stream()
+                            .map(Failure::toString)
+                            .collect(Collectors.joining(", ", group.examples().isEmpty() ? "" : ": ", "")))
+                    .collect(Collectors.joining("; ")) + "]" +
+                    (overflow > 0 ? " and " + overflow + " in other groups" : "");
+            rendered = value;
+        }
+        return value;
+    }
+
+    @Override
+    public Exception toException() {
+        Exception exception = new Exception(toString());
+        groups.forEach(group -> group.examples().forEach(example -> exception.addSuppressed(example.toException())));
+        return exception;
+    }
+}
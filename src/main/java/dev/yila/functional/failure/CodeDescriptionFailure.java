@@ -13,6 +13,8 @@
  */
 package dev.yila.functional.failure;
 
+import java.util.Objects;
+
 /**
  * A failure that contains an error code and description.
  */
@@ -43,6 +45,40 @@ public class CodeDescriptionFailure implements Failure {
         this.description = description;
     }
 
+    /**
+     * Returns the error code.
+     *
+     * @return the error code
+     */
+    public String getCode() {
+        return this.code;
+    }
+
+    /**
+     * Returns the error description.
+     *
+     * @return the error description
+     */
+    public String getDescription() {
+        return this.description;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof CodeDescriptionFailure failure)) {
+            return false;
+        }
+        return Objects.equals(code, failure.code) && Objects.equals(description, failure.description);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(code, description);
+    }
+
     @Override
     public String toString() {
         return this.code + ": " + this.description;
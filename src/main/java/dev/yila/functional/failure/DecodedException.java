@@ -0,0 +1,49 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional.failure;
+
+/**
+ * An exception read from a binary encoding. The original exception class is not loaded,
+ * only its name and message are preserved.
+ */
+public final class DecodedException extends StacklessException {
+
+    private final String className;
+
+    /**
+     * Creates a new DecodedException.
+     *
+     * @param className the class name of the original exception
+     * @param message the message of the original exception
+     */
+    public DecodedException(String className, String message) {
+        super(message);
+        this.className = className;
+    }
+
+    /**
+     * Returns the class name of the original exception.
+     *
+     * @return the class name
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    @Override
+    public String toString() {
+        String message = getLocalizedMessage();
+        return message == null ? className : className + ": " + message;
+    }
+}
@@ -38,8 +38,19 @@ public class ExceptionFailure implements Failure {
         return this.exception;
     }
 
+    /**
+     * Returns the class name of the wrapped exception, or the original class name of a decoded exception.
+     *
+     * @return the class name
+     */
+    public String getExceptionClassName() {
+        return exception instanceof DecodedException decoded
+                ? decoded.getClassName()
+                : exception.getClass().getName();
+    }
+
     @Override
     public String toString() {
-        return "ExceptionFailure: " + exception.getClass().getName() + ": " + exception.getMessage();
+        return "ExceptionFailure: " + getExceptionClassName() + ": " + exception.getMessage();
     }
 }
@@ -0,0 +1,156 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional.failure;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregates a large number of failures in bounded memory. Failures are counted in groups by code,
+ * exception class or failure class, and only the first examples of each group are stored.
+ * Failures of groups over the maximum number of groups are only counted. Not thread safe.
+ */
+public final class FailureAggregator {
+
+    /**
+     * Creates an empty aggregator.
+     *
+     * @param examplesPerGroup maximum number of failures stored per group
+     * @param maxGroups maximum number of groups
+     * @return a new FailureAggregator
+     */
+    public static FailureAggregator create(int examplesPerGroup, int maxGroups) {
+        if (examplesPerGroup < 0) {
+            throw new IllegalArgumentException("Examples per group can not be negative.");
+        }
+        if (maxGroups < 1) {
+            throw new IllegalArgumentException("Max groups must be greater than 0.");
+        }
+        return new FailureAggregator(examplesPerGroup, maxGroups);
+    }
+
+    /**
+     * Key of the group of a failure: the code of a code failure, the class name of the exception
+     * of an exception failure, the original class name if it was decoded, or the class name of any other failure.
+     *
+     * @param failure the failure
+     * @return the key
+     */
+    public static String groupKey(Failure failure) {
+        if (failure instanceof CodeDescriptionFailure codeFailure && codeFailure.getCode() != null) {
+            return codeFailure.getCode();
+        }
+        if (failure instanceof ExceptionFailure exceptionFailure) {
+            return exceptionFailure.getExceptionClassName();
+        }
+        return failure.getClass().getSimpleName();
+    }
+
+    private final int examplesPerGroup;
+    private final int maxGroups;
+    private final Map<String, Group> groups = new LinkedHashMap<>();
+    private long total;
+    private long overflow;
+
+    private FailureAggregator(int examplesPerGroup, int maxGroups) {
+        this.examplesPerGroup = examplesPerGroup;
+        this.maxGroups = maxGroups;
+    }
+
+    /**
+     * Adds a failure.
+     *
+     * @param failure the failure
+     * @return this aggregator
+     */
+    public FailureAggregator add(Failure failure) {
+        Group group = group(groupKey(failure));
+        total++;
+        if (group == null) {
+            overflow++;
+        } else {
+            group.count++;
+            if (group.examples.size() < examplesPerGroup) {
+                group.examples.add(failure);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Adds the failures of other aggregator, after the failures of this one.
+     *
+     * @param other the other aggregator
+     * @return this aggregator
+     */
+    public FailureAggregator merge(FailureAggregator other) {
+        for (Group otherGroup : other.groups.values()) {
+            Group group = group(otherGroup.key);
+            if (group == null) {
+                overflow += otherGroup.count;
+            } else {
+                group.count += otherGroup.count;
+                List<Failure> examples = otherGroup.examples;
+                for (int i = 0; i < examples.size() && group.examples.size() < examplesPerGroup; i++) {
+                    group.examples.add(examples.get(i));
+                }
+            }
+        }
+        total += other.total;
+        overflow += other.overflow;
+        return this;
+    }
+
+    /**
+     * Number of failures added.
+     *
+     * @return long
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Creates a failure with the current groups.
+     *
+     * @return AggregatedFailures
+     */
+    public AggregatedFailures toFailure() {
+        List<AggregatedFailures.Group> snapshot = new ArrayList<>(groups.size());
+        groups.values().forEach(group ->
+                snapshot.add(new AggregatedFailures.Group(group.key, group.count, List.copyOf(group.examples))));
+        return new AggregatedFailures(List.copyOf(snapshot), total, overflow);
+    }
+
+    private Group group(String key) {
+        Group group = groups.get(key);
+        if (group == null && groups.size() < maxGroups) {
+            group = new Group(key);
+            groups.put(key, group);
+        }
+        return group;
+    }
+
+    private static final class Group {
+        private final String key;
+        private final List<Failure> examples = new ArrayList<>();
+        private long count;
+
+        private Group(String key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional.failure;
+
+/**
+ * Category of a registered failure code, to decide how to handle a failure.
+ */
+public enum FailureCategory {
+    /**
+     * The operation can succeed if it is retried.
+     */
+    TRANSIENT,
+    /**
+     * The operation will fail again if it is retried.
+     */
+    PERMANENT,
+    /**
+     * The input of the operation is not valid.
+     */
+    VALIDATION,
+    /**
+     * The failure has no registered code.
+     */
+    UNKNOWN
+}
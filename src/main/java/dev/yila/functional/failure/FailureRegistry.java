@@ -0,0 +1,139 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional.failure;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of failure codes. Each code is interned to a small integer id with a category,
+ * and has one RegisteredFailure instance to return on every failure with that code.
+ * Ids and categories of failures are resolved in constant time, without comparing strings.
+ */
+public final class FailureRegistry {
+
+    /**
+     * Creates an empty registry.
+     *
+     * @return a new FailureRegistry
+     */
+    public static FailureRegistry create() {
+        return new FailureRegistry();
+    }
+
+    /**
+     * Id of failures without a registered code.
+     */
+    public static final int UNKNOWN_ID = -1;
+
+    private final Map<String, RegisteredFailure> byCode = new ConcurrentHashMap<>();
+    private volatile RegisteredFailure[] byId = new RegisteredFailure[0];
+
+    private FailureRegistry() {
+    }
+
+    /**
+     * Registers a new failure code.
+     *
+     * @param code the error code
+     * @param description the error description
+     * @param category the category of the code
+     * @return the failure of the code
+     * @throws IllegalArgumentException if the code is already registered
+     */
+    public synchronized RegisteredFailure register(String code, String description, FailureCategory category) {
+        Objects.requireNonNull(code);
+        Objects.requireNonNull(description);
+        Objects.requireNonNull(category);
+        if (category == FailureCategory.UNKNOWN) {
+            throw new IllegalArgumentException("UNKNOWN category can not be registered.");
+        }
+        if (byCode.containsKey(code)) {
+            throw new IllegalArgumentException("Code already registered: " + code);
+        }
+        RegisteredFailure failure = new RegisteredFailure(byId.length, code, description, category);
+        RegisteredFailure[] ids = Arrays.copyOf(byId, byId.length + 1);
+        ids[failure.id()] = failure;
+        byCode.put(code, failure);
+        byId = ids;
+        return failure;
+    }
+
+    /**
+     * Returns the registered failure of a code.
+     *
+     * @param code the error code
+     * @return the failure, or null if the code is not registered
+     */
+    public RegisteredFailure failure(String code) {
+        return byCode.get(code);
+    }
+
+    /**
+     * Returns the registered failure of an id.
+     *
+     * @param id the id of the code
+     * @return the failure
+     * @throws IndexOutOfBoundsException if the id is not registered
+     */
+    public RegisteredFailure failure(int id) {
+        return byId[id];
+    }
+
+    /**
+     * Returns the id of the code of a failure. Registered failures resolve without a lookup,
+     * code failures created elsewhere with a registered code resolve with one hash lookup.
+     *
+     * @param failure the failure
+     * @return the id, or UNKNOWN_ID
+     */
+    public int id(Failure failure) {
+        RegisteredFailure registered = registered(failure);
+        return registered == null ? UNKNOWN_ID : registered.id();
+    }
+
+    /**
+     * Returns the category of the code of a failure.
+     *
+     * @param failure the failure
+     * @return the category, or UNKNOWN
+     */
+    public FailureCategory category(Failure failure) {
+        RegisteredFailure registered = registered(failure);
+        return registered == null ? FailureCategory.UNKNOWN : registered.category();
+    }
+
+    /**
+     * Number of registered codes.
+     *
+     * @return int
+     */
+    public int size() {
+        return byId.length;
+    }
+
+    private RegisteredFailure registered(Failure failure) {
+        RegisteredFailure[] ids = byId;
+        if (failure instanceof RegisteredFailure registered
+                && registered.id() < ids.length && ids[registered.id()] == registered) {
+            return registered;
+        }
+        if (failure instanceof CodeDescriptionFailure codeFailure && codeFailure.getCode() != null) {
+            return byCode.get(codeFailure.getCode());
+        }
+        return null;
+    }
+}
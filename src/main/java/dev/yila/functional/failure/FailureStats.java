@@ -0,0 +1,281 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional.failure;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Statistics of failures, to attach as sink with onFailure. It keeps exact counts per failure class,
+ * the top failures by code or exception class with a space-saving sketch, and counts per second
+ * of the last minute. The sketch is a stream-summary, counters with the same count share a bucket and
+ * buckets are linked by count, so counting a key and evicting the minimum are constant time under a lock.
+ */
+public final class FailureStats implements Consumer<Failure> {
+
+    /**
+     * Count of a failure key in the sketch. The real count is between count - error and count.
+     *
+     * @param key the key of the failure, as FailureAggregator.groupKey
+     * @param count the estimated count
+     * @param error maximum overestimation of the count
+     */
+    public record FailureCount(String key, long count, long error) {}
+
+    /**
+     * Creates new stats.
+     *
+     * @param capacity number of keys tracked in the top failures sketch
+     * @return FailureStats
+     */
+    public static FailureStats create(int capacity) {
+        return new FailureStats(capacity, System::nanoTime);
+    }
+
+    private static final int SECONDS = 61;
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+    private final int capacity;
+    private final LongSupplier nanoTime;
+    private final Map<Class<?>, LongAdder> byClass = new ConcurrentHashMap<>();
+    private final Map<String, Counter> monitored = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    // buckets from the lowest count to the highest, guarded by the lock
+    private Bucket minimum;
+    private Bucket maximum;
+    // the low 32 bits of the second in the high half, and its count in the low half
+    private final AtomicLongArray secondCounts = new AtomicLongArray(SECONDS);
+    private final LongAdder total = new LongAdder();
+
+    FailureStats(int capacity, LongSupplier nanoTime) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be greater than 0.");
+        }
+        this.capacity = capacity;
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public void accept(Failure failure) {
+        total.increment();
+        byClass.computeIfAbsent(failure.getClass(), key -> new LongAdder()).increment();
+        count(FailureAggregator.groupKey(failure));
+        countSecond();
+    }
+
+    /**
+     * Number of failures counted.
+     *
+     * @return long
+     */
+    public long total() {
+        return total.sum();
+    }
+
+    /**
+     * Exact counts per failure class.
+     *
+     * @return map of counts
+     */
+    public Map<Class<?>, Long> byClass() {
+        return byClass.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum()));
+    }
+
+    /**
+     * Top failures by code or exception class, with the most frequent first.
+     *
+     * @param k maximum number of keys
+     * @return list of counts
+     */
+    public List<FailureCount> topK(int k) {
+        List<FailureCount> counts = new ArrayList<>(Math.min(k, capacity));
+        lock.lock();
+        try {
+            for (Bucket bucket = maximum; bucket != null && counts.size() < k; bucket = bucket.previous) {
+                for (Counter counter = bucket.first; counter != null && counts.size() < k; counter = counter.next) {
+                    counts.add(new FailureCount(counter.key, bucket.count, counter.error));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return counts;
+    }
+
+    /**
+     * Average failures per second in the last complete seconds, the current second is not included.
+     *
+     * @param seconds number of seconds, from 1 to 60
+     * @return failures per second
+     */
+    public double ratePerSecond(int seconds) {
+        if (seconds < 1 || seconds >= SECONDS) {
+            throw new IllegalArgumentException("Seconds must be between 1 and " + (SECONDS - 1) + ".");
+        }
+        long now = currentSecond();
+        long count = 0;
+        for (long second = now - seconds; second < now; second++) {
+            int index = (int) Math.floorMod(second, (long) SECONDS);
+            long slot = secondCounts.get(index);
+            if ((slot & ~COUNT_MASK) == stamp(second)) {
+                count += slot & COUNT_MASK;
+            }
+        }
+        return (double) count / seconds;
+    }
+
+    private void count(String key) {
+        lock.lock();
+        try {
+            Counter counter = monitored.get(key);
+            if (counter == null) {
+                counter = admit(key);
+            }
+            Bucket bucket = counter.bucket;
+            Bucket next = bucket.next;
+            if (next == null || next.count != bucket.count + 1) {
+                next = link(new Bucket(bucket.count + 1), bucket, next);
+            }
+            bucket.remove(counter);
+            if (bucket.first == null) {
+                unlink(bucket);
+            }
+            next.add(counter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Counter admit(String key) {
+        Counter counter;
+        if (monitored.size() < capacity) {
+            counter = new Counter(key, 0);
+            if (minimum == null || minimum.count != 0) {
+                link(new Bucket(0), null, minimum);
+            }
+            minimum.add(counter);
+        } else {
+            // the new key takes the place of the oldest key with the minimum count
+            Counter evicted = minimum.first;
+            monitored.remove(evicted.key);
+            minimum.remove(evicted);
+            counter = new Counter(key, minimum.count);
+            minimum.add(counter);
+        }
+        monitored.put(key, counter);
+        return counter;
+    }
+
+    private Bucket link(Bucket bucket, Bucket previous, Bucket next) {
+        bucket.previous = previous;
+        bucket.next = next;
+        if (previous == null) {
+            minimum = bucket;
+        } else {
+            previous.next = bucket;
+        }
+        if (next == null) {
+            maximum = bucket;
+        } else {
+            next.previous = bucket;
+        }
+        return bucket;
+    }
+
+    // an empty bucket always has the next bucket its counter moved to
+    private void unlink(Bucket bucket) {
+        if (bucket.previous == null) {
+            minimum = bucket.next;
+        } else {
+            bucket.previous.next = bucket.next;
+        }
+        bucket.next.previous = bucket.previous;
+    }
+
+    private void countSecond() {
+        long second = currentSecond();
+        int index = (int) Math.floorMod(second, (long) SECONDS);
+        secondCounts.accumulateAndGet(index, stamp(second),
+                (slot, stamp) -> (slot & ~COUNT_MASK) == stamp ? slot + 1 : stamp + 1);
+    }
+
+    private static long stamp(long second) {
+        return second << 32;
+    }
+
+    private long currentSecond() {
+        return TimeUnit.NANOSECONDS.toSeconds(nanoTime.getAsLong());
+    }
+
+    private static final class Bucket {
+        private final long count;
+        private Bucket previous;
+        private Bucket next;
+        private Counter first;
+        private Counter last;
+
+        private Bucket(long count) {
+            this.count = count;
+        }
+
+        private void add(Counter counter) {
+            counter.bucket = this;
+            counter.previous = last;
+            counter.next = null;
+            if (last == null) {
+                first = counter;
+            } else {
+                last.next = counter;
+            }
+            last = counter;
+        }
+
+        private void remove(Counter counter) {
+            if (counter.previous == null) {
+                first = counter.next;
+            } else {
+                counter.previous.next = counter.next;
+            }
+            if (counter.next == null) {
+                last = counter.previous;
+            } else {
+                counter.next.previous = counter.previous;
+            }
+        }
+    }
+
+    private static final class Counter {
+        private final String key;
+        private final long error;
+        private Bucket bucket;
+        private Counter previous;
+        private Counter next;
+
+        private Counter(String key, long error) {
+            this.key = key;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional.failure;
+
+/**
+ * A code failure registered in a FailureRegistry, with an integer id and a category.
+ * There is one instance per code, so it can be reused on every failure without allocating.
+ */
+public final class RegisteredFailure extends CodeDescriptionFailure {
+
+    private final int id;
+    private final FailureCategory category;
+
+    RegisteredFailure(int id, String code, String description, FailureCategory category) {
+        super(code, description);
+        this.id = id;
+        this.category = category;
+    }
+
+    /**
+     * Returns the integer id of the code, from 0 in registration order.
+     *
+     * @return the id
+     */
+    public int id() {
+        return this.id;
+    }
+
+    /**
+     * Returns the category of the code.
+     *
+     * @return the category
+     */
+    public FailureCategory category() {
+        return this.category;
+    }
+}
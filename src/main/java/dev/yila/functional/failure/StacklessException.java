@@ -0,0 +1,41 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional.failure;
+
+/**
+ * An exception that does not capture the stack trace, so creating it costs about as much as any other object.
+ * Use it, or extend it, for expected failures in hot paths, like parse errors,
+ * where the stack trace is not useful and filling it dominates the cost of the failure.
+ */
+public class StacklessException extends RuntimeException {
+
+    /**
+     * Creates a new StacklessException.
+     *
+     * @param message the detail message
+     */
+    public StacklessException(String message) {
+        this(message, null);
+    }
+
+    /**
+     * Creates a new StacklessException with a cause.
+     *
+     * @param message the detail message
+     * @param cause the cause
+     */
+    public StacklessException(String message, Throwable cause) {
+        super(message, cause, true, false);
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncResultCacheTest {
+
+    private static final Duration HOUR = Duration.ofHours(1);
+    private static final Duration MINUTE = Duration.ofMinutes(1);
+
+    private final AtomicInteger calls = new AtomicInteger(0);
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+    private final Fun<Integer, String> loader = Fun.from(key -> "value" + key + "-" + calls.incrementAndGet());
+    private final Function<List<Integer>, Map<Integer, Result<String>>> batchLoader = keys -> {
+        batches.add(keys);
+        Map<Integer, Result<String>> results = new HashMap<>();
+        keys.stream().filter(key -> key > 0).forEach(key -> results.put(key, DirectResult.ok("value" + key)));
+        return results;
+    };
+
+    @Test
+    void loadOnceAndShareResult() {
+        AsyncResultCache<Integer, String> cache = AsyncResultCache.create(ThreadPool.get(), loader, 100, HOUR, MINUTE);
+
+        AsyncResult<String> first = cache.get(1);
+        AsyncResult<String> second = cache.get(1);
+
+        assertSame(first, second);
+        assertEquals("value1-1", second.getOrThrow());
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.stats().hits());
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        AsyncResultCache<Integer, String> cache = AsyncResultCache.create(ThreadPool.get(), Fun.from(key -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("fail");
+        }), 100, HOUR, MINUTE);
+
+        assertInstanceOf(IllegalStateException.class, cache.get(1).failure().get().toException());
+        await().until(() -> cache.size() == 0);
+        assertTrue(cache.get(1).hasFailure());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void getAllLoadsMissingKeysInOneBatch() {
+        AsyncResultCache<Integer, String> cache = AsyncResultCache.create(ThreadPool.get(), batchLoader, 100, HOUR, MINUTE);
+        assertEquals("value1", cache.get(1).getOrThrow());
+
+        Map<Integer, AsyncResult<String>> results = cache.getAll(List.of(1, 2, 3, 2));
+
+        assertEquals(List.of(1, 2, 3), List.copyOf(results.keySet()));
+        assertEquals("value2", results.get(2).getOrThrow());
+        assertEquals("value3", results.get(3).getOrThrow());
+        assertEquals(List.of(List.of(1), List.of(2, 3)), batches);
+    }
+
+    @Test
+    void recordMissesAndLoadTime() {
+        AsyncResultCache<Integer, String> cache = AsyncResultCache.create(ThreadPool.get(), keys -> {
+            sleep(5);
+            return batchLoader.apply(keys);
+        }, 100, HOUR, MINUTE);
+
+        assertEquals("value1", cache.get(1).getOrThrow());
+        assertEquals("value2", cache.getAll(List.of(1, 2, 3)).get(2).getOrThrow());
+        cache.get(2);
+
+        CacheStats stats = cache.stats();
+        assertEquals(3, stats.misses());
+        assertEquals(2, stats.hits());
+        assertEquals(0.4, stats.hitRate());
+        assertTrue(stats.loadNanos() >= Duration.ofMillis(10).toNanos());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    @Test
+    void keyNotFoundInBatch() {
+        AsyncResultCache<Integer, String> cache = AsyncResultCache.create(ThreadPool.get(), batchLoader, 100, HOUR, MINUTE);
+
+        assertEquals("Not found a result for key: -1", cache.get(-1).failure().get().toString());
+    }
+
+    @Test
+    void batchLoaderFailing() {
+        RuntimeException exception = new RuntimeException("down");
+        AsyncResultCache<Integer, String> cache = AsyncResultCache.create(ThreadPool.get(), keys -> {
+            throw exception;
+        }, 100, HOUR, MINUTE);
+        AsyncResultCache<Integer, String> withError = AsyncResultCache.create(ThreadPool.get(), keys -> {
+            throw new Error("boom");
+        }, 100, HOUR, MINUTE);
+
+        assertSame(exception, cache.get(1).failure().get().toException());
+        assertInstanceOf(RuntimeException.class, withError.get(1).failure().get().toException());
+    }
+
+    @Test
+    void rejectedLoad() {
+        AsyncResultCache<Integer, String> cache = AsyncResultCache.create(runnable -> {
+            throw new RejectedExecutionException("full");
+        }, loader, 100, HOUR, MINUTE);
+
+        assertInstanceOf(RejectedExecutionException.class, cache.get(1).failure().get().toException());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void refreshAheadServesCurrentValue() throws InterruptedException {
+        AsyncResultCache<Integer, String> cache = AsyncResultCache.create(ThreadPool.get(), loader, 100,
+                HOUR, Duration.ofMillis(20));
+        assertEquals("value1-1", cache.get(1).getOrThrow());
+        Thread.sleep(30);
+
+        assertEquals("value1-1", cache.get(1).getOrThrow());
+        await().until(() -> cache.get(1).getOrThrow().equals("value1-2"));
+    }
+
+    @Test
+    void failedRefreshKeepsCurrentValue() throws InterruptedException {
+        AsyncResultCache<Integer, String> cache = AsyncResultCache.create(ThreadPool.get(), Fun.from(key -> {
+            if (calls.incrementAndGet() > 1) {
+                throw new IllegalStateException("fail");
+            }
+            return "value" + key;
+        }), 100, HOUR, Duration.ofMillis(20));
+        assertEquals("value1", cache.get(1).getOrThrow());
+        Thread.sleep(30);
+
+        cache.get(1);
+        await().until(() -> calls.get() == 2);
+        await().until(() -> {
+            cache.get(1);
+            return calls.get() >= 3;
+        });
+        assertEquals("value1", cache.get(1).getOrThrow());
+    }
+
+    @Test
+    void rejectedRefreshKeepsCurrentValue() throws InterruptedException {
+        AtomicBoolean rejecting = new AtomicBoolean(false);
+        AsyncResultCache<Integer, String> cache = AsyncResultCache.create(runnable -> {
+            if (rejecting.get()) {
+                throw new RejectedExecutionException("full");
+            }
+            ThreadPool.get().execute(runnable);
+        }, loader, 100, HOUR, Duration.ofMillis(20));
+        assertEquals("value1-1", cache.get(1).getOrThrow());
+        Thread.sleep(30);
+        rejecting.set(true);
+
+        Map<Integer, AsyncResult<String>> results = cache.getAll(List.of(2, 1));
+
+        assertInstanceOf(RejectedExecutionException.class, results.get(2).failure().get().toException());
+        assertEquals("value1-1", results.get(1).getOrThrow());
+        rejecting.set(false);
+        await().until(() -> cache.get(1).getOrThrow().equals("value1-2"));
+        assertTrue(cache.get(2).getOrThrow().startsWith("value2-"));
+    }
+
+    @Test
+    void invalidateDuringRefresh() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncResultCache<Integer, String> cache = AsyncResultCache.create(ThreadPool.get(), Fun.from(key -> {
+            int call = calls.incrementAndGet();
+            if (call == 2) {
+                release.await();
+            }
+            return "value" + key + "-" + call;
+        }, InterruptedException.class), 100, HOUR, Duration.ofMillis(20));
+        assertEquals("value1-1", cache.get(1).getOrThrow());
+        Thread.sleep(30);
+        cache.get(1);
+        await().until(() -> calls.get() == 2);
+
+        cache.invalidate(1);
+        release.countDown();
+
+        await().during(Duration.ofMillis(100)).until(() -> cache.size() == 0);
+        assertEquals("value1-3", cache.get(1).getOrThrow());
+    }
+
+    @Test
+    void expireAfterWrite() throws InterruptedException {
+        AsyncResultCache<Integer, String> cache = AsyncResultCache.create(ThreadPool.get(), loader, 100,
+                Duration.ofMillis(20), Duration.ofMillis(10));
+        assertEquals("value1-1", cache.get(1).getOrThrow());
+        Thread.sleep(30);
+
+        assertEquals("value1-2", cache.get(1).getOrThrow());
+    }
+
+    @Test
+    void invalidate() {
+        AsyncResultCache<Integer, String> cache = AsyncResultCache.create(ThreadPool.get(), loader, 100, HOUR, MINUTE);
+        cache.get(1).getOrThrow();
+        cache.invalidate(1);
+
+        assertEquals("value1-2", cache.get(1).getOrThrow());
+    }
+
+    @Test
+    void invalidConfiguration() {
+        assertThrows(IllegalArgumentException.class,
+                () -> AsyncResultCache.create(ThreadPool.get(), loader, 0, HOUR, MINUTE));
+        assertThrows(IllegalArgumentException.class,
+                () -> AsyncResultCache.create(ThreadPool.get(), loader, 10, MINUTE, HOUR));
+        assertThrows(IllegalArgumentException.class,
+                () -> AsyncResultCache.create(ThreadPool.get(), loader, 10, HOUR, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> AsyncResultCache.create(ThreadPool.get(), loader, 10, Duration.ofMinutes(-1), Duration.ofMinutes(-2)));
+    }
+}
@@ -18,6 +18,10 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Optional;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -120,6 +124,82 @@ public class AsyncResultTest extends ResultTest {
         assertInstanceOf(TimeoutException.class, failure.toException());
     }
 
+    @Test
+    void mapAsyncRunsStageInGivenExecutor() {
+        ExecutorService stageExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "stage"));
+        try {
+            AsyncResult<String> result = AsyncResult.create(ThreadPool.get(), () -> 5)
+                    .mapAsync(stageExecutor, number -> Thread.currentThread().getName() + number);
+
+            assertEquals("stage5", result.getOrThrow());
+        } finally {
+            stageExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void mapAsyncKeepsFailure() {
+        AtomicInteger executions = new AtomicInteger(0);
+        AsyncResult<Integer> result = AsyncResult.create(ThreadPool.get(), () -> {
+            throw runtimeException;
+        }).mapAsync(ThreadPool.get(), value -> executions.incrementAndGet());
+
+        assertEquals(runtimeException, result.failure().get().toException());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void mapAsyncFunctionThrowingException() {
+        AsyncResult<Integer> result = AsyncResult.create(ThreadPool.get(), () -> 5)
+                .mapAsync(ThreadPool.get(), value -> {
+                    throw runtimeException;
+                });
+
+        assertEquals(runtimeException, result.failure().get().toException());
+    }
+
+    @Test
+    void mapAsyncRejectedByExecutor() {
+        Executor rejecting = runnable -> {
+            throw new RejectedExecutionException("full");
+        };
+        AsyncResult<Integer> result = AsyncResult.create(ThreadPool.get(), () -> 5)
+                .mapAsync(rejecting, value -> value + 1);
+
+        assertInstanceOf(RejectedExecutionException.class, result.failure().get().toException());
+    }
+
+    @Test
+    void flatMapAsyncRunsStageInGivenExecutor() {
+        ExecutorService stageExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "io"));
+        try {
+            AsyncResult<String> result = AsyncResult.create(ThreadPool.get(), () -> 5)
+                    .flatMapAsync(stageExecutor, number ->
+                            DirectResult.ok(Thread.currentThread().getName() + number));
+
+            assertEquals("io5", result.getOrThrow());
+        } finally {
+            stageExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void flatMapAsyncWithAsyncResult() {
+        AsyncResult<Integer> result = AsyncResult.create(ThreadPool.get(), () -> 5)
+                .flatMapAsync(ThreadPool.get(), number -> AsyncResult.create(ThreadPool.get(), () -> number * 2))
+                .mapAsync(ThreadPool.get(), number -> number + 1);
+
+        assertEquals(11, result.getOrThrow());
+    }
+
+    @Test
+    void flatMapAsyncReturningFailure() {
+        AsyncResult<Integer> result = AsyncResult.create(ThreadPool.get(), () -> 5)
+                .flatMapAsync(ThreadPool.get(), number -> DirectResult.failure("fail"));
+
+        assertEquals("fail", result.failure().get().toString());
+    }
+
     static class TestException extends Exception {}
 
     @Override
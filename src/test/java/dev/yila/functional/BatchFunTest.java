@@ -0,0 +1,167 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchFunTest {
+
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    private final Function<List<Integer>, Map<Integer, Result<String>>> batchFunction = keys -> {
+        batches.add(keys);
+        Map<Integer, Result<String>> results = new HashMap<>();
+        keys.stream()
+                .filter(key -> key > 0)
+                .forEach(key -> results.put(key, key == 13
+                        ? DirectResult.failure("unlucky")
+                        : DirectResult.ok("value" + key)));
+        return results;
+    };
+
+    @Test
+    void dispatchWhenBatchIsFull() {
+        BatchFun<Integer, String> batchFun = BatchFun.create(ThreadPool.get(), batchFunction, 3, Duration.ofHours(1));
+
+        AsyncResult<String> one = batchFun.load(1);
+        AsyncResult<String> two = batchFun.load(2);
+        AsyncResult<String> three = batchFun.load(3);
+
+        assertEquals("value1", one.getOrThrow());
+        assertEquals("value2", two.getOrThrow());
+        assertEquals("value3", three.getOrThrow());
+        assertEquals(List.of(List.of(1, 2, 3)), batches);
+    }
+
+    @Test
+    void dispatchWhenWindowExpires() {
+        BatchFun<Integer, String> batchFun = BatchFun.create(ThreadPool.get(), batchFunction, 100, Duration.ofMillis(50));
+
+        AsyncResult<String> one = batchFun.load(1);
+        AsyncResult<String> repeated = batchFun.load(1);
+        AsyncResult<String> two = batchFun.load(2);
+
+        assertEquals("value1", one.getOrThrow());
+        assertEquals("value1", repeated.getOrThrow());
+        assertEquals("value2", two.getOrThrow());
+        assertEquals(List.of(List.of(1, 2)), batches);
+
+        assertEquals("value5", batchFun.load(5).getOrThrow());
+        assertEquals(List.of(List.of(1, 2), List.of(5)), batches);
+    }
+
+    @Test
+    void failuresByKey() {
+        BatchFun<Integer, String> batchFun = BatchFun.create(ThreadPool.get(), batchFunction, 3, Duration.ofMillis(10));
+
+        AsyncResult<String> ok = batchFun.load(1);
+        AsyncResult<String> failure = batchFun.load(13);
+        AsyncResult<String> missing = batchFun.load(-1);
+
+        assertEquals("value1", ok.getOrThrow());
+        assertEquals("unlucky", failure.failure().get().toString());
+        assertEquals("Not found a result for key: -1", missing.failure().get().toString());
+    }
+
+    @Test
+    void batchFunctionThrowingException() {
+        RuntimeException exception = new RuntimeException("down");
+        BatchFun<Integer, String> batchFun = BatchFun.create(ThreadPool.get(), keys -> {
+            throw exception;
+        }, 2, Duration.ofMillis(10));
+
+        AsyncResult<String> one = batchFun.load(1);
+        AsyncResult<String> two = batchFun.load(2);
+
+        assertSame(exception, one.failure().get().toException());
+        assertSame(exception, two.failure().get().toException());
+    }
+
+    @Test
+    void batchFunctionThrowingError() {
+        BatchFun<Integer, String> batchFun = BatchFun.create(ThreadPool.get(), keys -> {
+            throw new StackOverflowError();
+        }, 2, Duration.ofMillis(10));
+
+        AsyncResult<String> one = batchFun.load(1);
+        AsyncResult<String> two = batchFun.load(2);
+
+        assertThrows(CompletionException.class, one::getOrThrow);
+        assertThrows(CompletionException.class, two::getOrThrow);
+    }
+
+    @Test
+    void batchFunctionReturningNull() {
+        BatchFun<Integer, String> batchFun = BatchFun.create(ThreadPool.get(), keys -> null, 1, Duration.ofMillis(10));
+
+        assertInstanceOf(NullPointerException.class, batchFun.load(1).failure().get().toException());
+    }
+
+    @Test
+    void executorRejectingWindowDispatch() {
+        BatchFun<Integer, String> batchFun = BatchFun.create(rejectingOnce(), batchFunction, 100, Duration.ofMillis(200));
+
+        AsyncResult<String> one = batchFun.load(1);
+        AsyncResult<String> two = batchFun.load(2);
+
+        assertEquals("full", one.failure().get().toException().getMessage());
+        assertInstanceOf(RejectedExecutionException.class, two.failure().get().toException());
+        assertEquals("value3", batchFun.load(3).getOrThrow());
+        assertEquals(List.of(List.of(3)), batches);
+    }
+
+    @Test
+    void executorRejectingFullBatch() {
+        BatchFun<Integer, String> batchFun = BatchFun.create(rejectingOnce(), batchFunction, 2, Duration.ofHours(1));
+
+        AsyncResult<String> one = batchFun.load(1);
+        AsyncResult<String> two = batchFun.load(2);
+        AsyncResult<String> three = batchFun.load(3);
+        AsyncResult<String> four = batchFun.load(4);
+
+        assertInstanceOf(RejectedExecutionException.class, one.failure().get().toException());
+        assertInstanceOf(RejectedExecutionException.class, two.failure().get().toException());
+        assertEquals("value3", three.getOrThrow());
+        assertEquals("value4", four.getOrThrow());
+    }
+
+    private Executor rejectingOnce() {
+        AtomicBoolean rejected = new AtomicBoolean(false);
+        return runnable -> {
+            if (rejected.compareAndSet(false, true)) {
+                throw new RejectedExecutionException("full");
+            }
+            ThreadPool.get().execute(runnable);
+        };
+    }
+
+    @Test
+    void invalidMaxBatchSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BatchFun.create(ThreadPool.get(), batchFunction, 0, Duration.ofMillis(10)));
+    }
+}
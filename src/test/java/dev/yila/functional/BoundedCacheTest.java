@@ -0,0 +1,159 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedCacheTest {
+
+    private final BoundedCache<Integer, String> cache = new BoundedCache<>(10, (key, value) -> 1L, 0);
+
+    @Test
+    void admitFrequentlyUsedEntries() {
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, "value" + i);
+        }
+        for (int times = 0; times < 3; times++) {
+            for (int i = 0; i < 9; i++) {
+                assertEquals("value" + i, cache.getIfPresent(i));
+            }
+        }
+
+        cache.put(100, "value100");
+        assertNull(cache.getIfPresent(9));
+        assertEquals("value0", cache.getIfPresent(0));
+
+        for (int i = 0; i < 5; i++) {
+            cache.getIfPresent(100);
+        }
+        cache.put(101, "value101");
+        assertEquals("value100", cache.getIfPresent(100));
+        assertEquals(10, cache.size());
+        assertEquals(2, cache.stats().evictions());
+    }
+
+    @Test
+    void evictByWeight() {
+        BoundedCache<Integer, String> weighted = new BoundedCache<>(10, (key, value) -> value.length(), 0);
+        weighted.put(1, "12345");
+        weighted.put(2, "1234");
+        weighted.put(3, "123");
+
+        assertEquals(2, weighted.size());
+        assertNull(weighted.getIfPresent(3));
+        weighted.put(4, "12345678901");
+        assertEquals(2, weighted.size());
+        assertEquals(2, weighted.stats().evictions());
+    }
+
+    @Test
+    void evictEntryHeavierThanMaximum() {
+        BoundedCache<Integer, String> weighted = new BoundedCache<>(10, (key, value) -> value.length(), 0);
+        weighted.put(1, "12345678901");
+
+        assertEquals(0, weighted.size());
+        assertEquals(1, weighted.stats().evictions());
+    }
+
+    @Test
+    void replaceValues() {
+        cache.put(1, "one");
+        cache.put(1, "uno");
+        assertEquals("uno", cache.getIfPresent(1));
+        cache.put(2, "two");
+        cache.put(1, "eins");
+
+        assertEquals("eins", cache.getIfPresent(1));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void invalidate() {
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.invalidate(1);
+        cache.invalidate(2);
+        cache.invalidate(3);
+
+        assertNull(cache.getIfPresent(1));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void putIfAbsent() {
+        assertNull(cache.putIfAbsent(1, "one"));
+        assertEquals("one", cache.putIfAbsent(1, "uno"));
+        assertEquals("one", cache.getIfPresent(1));
+    }
+
+    @Test
+    void invalidateExpectedValue() {
+        String value = "one";
+        cache.put(1, value);
+        cache.invalidate(1, "other");
+        assertEquals(value, cache.getIfPresent(1));
+
+        cache.invalidate(1, value);
+        assertNull(cache.getIfPresent(1));
+    }
+
+    @Test
+    void expireAfterWrite() throws InterruptedException {
+        BoundedCache<Integer, String> expiring = new BoundedCache<>(10, (key, value) -> 1L,
+                TimeUnit.MILLISECONDS.toNanos(10));
+        expiring.put(1, "one");
+        assertEquals("one", expiring.getIfPresent(1));
+        Thread.sleep(20);
+
+        assertNull(expiring.getIfPresent(1));
+        assertEquals(0, expiring.size());
+    }
+
+    @Test
+    void loadAndStats() {
+        assertEquals("v1", cache.get(1, key -> "v" + key, value -> true));
+        assertEquals("v1", cache.get(1, key -> "other", value -> true));
+        assertEquals("v2", cache.get(2, key -> "v" + key, value -> false));
+        assertNull(cache.getIfPresent(2));
+
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertTrue(stats.loadNanos() > 0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void evictionListenerRunsOutsideTheLock() {
+        List<Integer> evicted = new CopyOnWriteArrayList<>();
+        BoundedCache<Integer, String>[] holder = new BoundedCache[1];
+        holder[0] = new BoundedCache<>(1, (key, value) -> 1L, 0, (key, value) -> {
+            CompletableFuture.runAsync(() -> holder[0].invalidate(-1)).orTimeout(1, TimeUnit.SECONDS).join();
+            evicted.add(key);
+        });
+
+        holder[0].put(1, "one");
+        assertNull(holder[0].putIfAbsent(2, "two"));
+        holder[0].put(3, "three");
+
+        assertEquals(List.of(1, 2), evicted);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DoubleFunTest {
+
+    private final DoubleFun inverse = DoubleFun.from(value -> {
+        if (value == 0) {
+            throw new ArithmeticException("zero");
+        }
+        return 100 / value;
+    });
+
+    @Test
+    void apply() {
+        assertEquals(50.0, inverse.apply(2.0).getOrThrow());
+        assertInstanceOf(ArithmeticException.class, inverse.apply(0.0).failure().get().toException());
+    }
+
+    @Test
+    void applyAll() {
+        double[] input = {1.0, 2.0, 0.0, 4.0, 0.0, 5.0};
+        double[] output = new double[input.length];
+
+        BitSet failures = inverse.applyAll(input, output);
+
+        assertArrayEquals(new double[]{100.0, 50.0, 0.0, 25.0, 0.0, 20.0}, output);
+        assertEquals(BitSet.valueOf(new long[]{0b10100}), failures);
+    }
+
+    @Test
+    void applyAllWithoutFailures() {
+        double[] output = new double[3];
+
+        assertTrue(inverse.applyAll(new double[]{1.0, 2.0, 4.0}, output).isEmpty());
+        assertArrayEquals(new double[]{100.0, 50.0, 25.0}, output);
+    }
+
+    @Test
+    void outputShorterThanInput() {
+        assertThrows(IllegalArgumentException.class, () -> inverse.applyAll(new double[2], new double[1]));
+    }
+}
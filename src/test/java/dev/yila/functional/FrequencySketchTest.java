@@ -0,0 +1,74 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FrequencySketchTest {
+
+    @Test
+    void countFrequency() {
+        FrequencySketch sketch = new FrequencySketch(100);
+        sketch.increment("a");
+        sketch.increment("a");
+        sketch.increment("b");
+
+        assertEquals(2, sketch.frequency("a"));
+        assertEquals(1, sketch.frequency("b"));
+        assertEquals(0, sketch.frequency("c"));
+    }
+
+    @Test
+    void maximumFrequency() {
+        FrequencySketch sketch = new FrequencySketch(100);
+        for (int i = 0; i < 20; i++) {
+            sketch.increment("a");
+        }
+
+        assertEquals(15, sketch.frequency("a"));
+    }
+
+    @Test
+    void frequenciesAreHalvedPeriodically() {
+        FrequencySketch sketch = new FrequencySketch(10);
+        for (int i = 0; i < 15; i++) {
+            sketch.increment("popular");
+        }
+        for (int i = 0; i < 200; i++) {
+            sketch.increment(i);
+        }
+
+        assertTrue(sketch.frequency("popular") < 15);
+    }
+
+    @Test
+    void growWithEntries() {
+        FrequencySketch sketch = new FrequencySketch(0);
+        sketch.increment("a");
+
+        assertEquals(16, sketch.length());
+        sketch.ensureCapacity(10);
+        assertEquals(16, sketch.length());
+        assertEquals(1, sketch.frequency("a"));
+
+        sketch.ensureCapacity(1000);
+        assertEquals(1024, sketch.length());
+        assertEquals(0, sketch.frequency("a"));
+        sketch.increment("a");
+        assertEquals(1, sketch.frequency("a"));
+    }
+}
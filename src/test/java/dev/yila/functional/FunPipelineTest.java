@@ -0,0 +1,98 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FunPipelineTest {
+
+    private final ExceptionFunction<String, Integer, TestException> parse = value -> {
+        if (value.isEmpty()) {
+            throw new TestException();
+        }
+        return Integer.parseInt(value);
+    };
+
+    @Test
+    void plainFunctions() {
+        Fun<Integer, String> fun = FunPipeline.of((Integer number) -> number * 2)
+                .then(number -> number + 1)
+                .then(String::valueOf)
+                .build();
+
+        assertEquals("11", fun.apply(5).getOrThrow());
+    }
+
+    @Test
+    void checkedFunctions() {
+        Fun<String, Integer> fun = FunPipeline.of(String::trim)
+                .then(parse, TestException.class)
+                .then(number -> number * 10)
+                .build();
+
+        assertEquals(420, fun.apply(" 42 ").getOrThrow());
+        assertInstanceOf(TestException.class, fun.apply(" ").failure().get().toException());
+    }
+
+    @Test
+    void checkedFunctionThrowingNotAllowedException() {
+        Fun<String, Integer> fun = FunPipeline.of(Fun.from(parse, TestException.class)).build();
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> fun.apply("no number"));
+        assertInstanceOf(NumberFormatException.class, exception.getCause());
+    }
+
+    @Test
+    void plainFunctionThrowingException() {
+        IllegalStateException exception = new IllegalStateException("fail");
+        Fun<Integer, Integer> fun = FunPipeline.of((Integer number) -> number + 1)
+                .<Integer>then(number -> {
+                    throw exception;
+                })
+                .build();
+
+        assertSame(exception, assertThrows(IllegalStateException.class, () -> fun.apply(1)));
+    }
+
+    @Test
+    void funWithOwnApply() {
+        AtomicInteger calls = new AtomicInteger(0);
+        MemoizedFun<Integer, Integer> memoized = Fun.from((Integer number) -> {
+            calls.incrementAndGet();
+            return number * 2;
+        }).memoize(Memoization.maximumSize(10));
+        MemoizedFun<String, Integer> memoizedParse = Fun.from(parse, TestException.class)
+                .memoize(Memoization.maximumSize(10));
+        Fun<String, Integer> fun = FunPipeline.of(memoizedParse).then(memoized).build();
+
+        assertEquals(8, fun.apply("4").getOrThrow());
+        assertEquals(8, fun.apply("4").getOrThrow());
+        assertEquals(1, calls.get());
+        assertInstanceOf(TestException.class, fun.apply("").failure().get().toException());
+    }
+
+    @Test
+    void nestedPipelines() {
+        Fun<Integer, Integer> plusOne = FunPipeline.of((Integer number) -> number + 1).build();
+        Fun<Integer, Integer> fun = FunPipeline.of(plusOne).then(plusOne).then(Fun.compose(plusOne, plusOne)).build();
+
+        assertEquals(4, fun.apply(0).getOrThrow());
+    }
+
+    static class TestException extends Exception {}
+}
@@ -17,6 +17,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class FunTest {
 
@@ -36,6 +37,17 @@ public class FunTest {
         assertEquals(30, sixTimes.apply(5).getOrThrow());
     }
 
+    @Test
+    public void composeThrowableFunctions() {
+        ExceptionFunction<String, Integer, NumberFormatException> parse = Integer::parseInt;
+        Fun<String, Integer> parseFun = Fun.from(parse, NumberFormatException.class);
+        Fun<Integer, Integer> twoTimes = Fun.from(a -> 2 * a);
+
+        Fun<String, Integer> composed = Fun.compose(parseFun, twoTimes);
+        assertEquals(10, composed.apply("5").getOrThrow());
+        assertTrue(composed.apply("five").hasFailure());
+    }
+
     @Test
     public void successThrowableFunction() {
         ExceptionFunction<String, String, RuntimeException> function = String::toUpperCase;
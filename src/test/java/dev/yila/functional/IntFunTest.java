@@ -0,0 +1,60 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntFunTest {
+
+    private final IntFun inverse = IntFun.from(value -> {
+        if (value == 0) {
+            throw new ArithmeticException("zero");
+        }
+        return 100 / value;
+    });
+
+    @Test
+    void apply() {
+        assertEquals(50, inverse.apply(2).getOrThrow());
+        assertInstanceOf(ArithmeticException.class, inverse.apply(0).failure().get().toException());
+    }
+
+    @Test
+    void applyAll() {
+        int[] input = {1, 2, 0, 4, 0, 5};
+        int[] output = new int[input.length];
+
+        BitSet failures = inverse.applyAll(input, output);
+
+        assertArrayEquals(new int[]{100, 50, 0, 25, 0, 20}, output);
+        assertEquals(BitSet.valueOf(new long[]{0b10100}), failures);
+    }
+
+    @Test
+    void applyAllWithoutFailures() {
+        int[] output = new int[3];
+
+        assertTrue(inverse.applyAll(new int[]{1, 2, 4}, output).isEmpty());
+        assertArrayEquals(new int[]{100, 50, 25}, output);
+    }
+
+    @Test
+    void outputShorterThanInput() {
+        assertThrows(IllegalArgumentException.class, () -> inverse.applyAll(new int[2], new int[1]));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongFunTest {
+
+    private final LongFun inverse = LongFun.from(value -> {
+        if (value == 0) {
+            throw new ArithmeticException("zero");
+        }
+        return 100 / value;
+    });
+
+    @Test
+    void apply() {
+        assertEquals(50L, inverse.apply(2L).getOrThrow());
+        assertInstanceOf(ArithmeticException.class, inverse.apply(0L).failure().get().toException());
+    }
+
+    @Test
+    void applyAll() {
+        long[] input = {1L, 2L, 0L, 4L, 0L, 5L};
+        long[] output = new long[input.length];
+
+        BitSet failures = inverse.applyAll(input, output);
+
+        assertArrayEquals(new long[]{100L, 50L, 0L, 25L, 0L, 20L}, output);
+        assertEquals(BitSet.valueOf(new long[]{0b10100}), failures);
+    }
+
+    @Test
+    void applyAllWithoutFailures() {
+        long[] output = new long[3];
+
+        assertTrue(inverse.applyAll(new long[]{1L, 2L, 4L}, output).isEmpty());
+        assertArrayEquals(new long[]{100L, 50L, 25L}, output);
+    }
+
+    @Test
+    void outputShorterThanInput() {
+        assertThrows(IllegalArgumentException.class, () -> inverse.applyAll(new long[2], new long[1]));
+    }
+}
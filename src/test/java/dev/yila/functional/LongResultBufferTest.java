@@ -0,0 +1,100 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import dev.yila.functional.failure.Failure;
+import dev.yila.functional.failure.MultipleFailures;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongResultBufferTest {
+
+    @Test
+    void appendValuesAndFailures() {
+        LongResultBuffer buffer = LongResultBuffer.create(0)
+                .add(1)
+                .addFailure(Failure.create("fail"));
+
+        assertEquals(2, buffer.size());
+        assertEquals(1, buffer.failureCount());
+        assertEquals(1L, buffer.get(0).getOrThrow());
+        assertEquals("fail", buffer.get(1).failure().get().toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(2));
+    }
+
+    @Test
+    void bulkOperations() {
+        long[] values = new long[1_000_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+
+        long[] result = LongResultBuffer.of(values)
+                .map(value -> value * 2)
+                .filter(value -> value % 4 == 0)
+                .sequence()
+                .getOrThrow();
+
+        assertEquals(500_000, result.length);
+        assertEquals(1_999_996L, result[result.length - 1]);
+    }
+
+    @Test
+    void mapKeepsFailuresAndCatchesExceptions() {
+        LongResultBuffer buffer = LongResultBuffer.of(2, 0, 5).addFailure(Failure.create("fail"));
+
+        LongResultBuffer mapped = buffer.map(value -> 10 / value);
+
+        assertEquals(List.of("DirectResult(OK): 5",
+                "DirectResult(FAILURE): ExceptionFailure: java.lang.ArithmeticException: / by zero",
+                "DirectResult(OK): 2", "DirectResult(FAILURE): fail"),
+                mapped.results().stream().map(Result::toString).toList());
+        MultipleFailures failures = (MultipleFailures) mapped.sequence().failure().get();
+        assertEquals(2, failures.getFailures().size());
+    }
+
+    @Test
+    void mapToObjects() {
+        LongResultBuffer buffer = LongResultBuffer.of(1, 2, 3).addFailure(Failure.create("fail"));
+
+        ResultBuffer<String> mapped = buffer.mapToObj(value -> value == 2 ? null : "n" + value);
+
+        assertEquals("n1", mapped.get(0).getOrThrow());
+        assertTrue(mapped.get(1).hasFailure());
+        assertEquals("n3", mapped.get(2).getOrThrow());
+        assertEquals("fail", mapped.get(3).failure().get().toString());
+    }
+
+    @Test
+    void filterKeepsFailures() {
+        LongResultBuffer filtered = LongResultBuffer.of(1, 2).addFailure(Failure.create("fail"))
+                .filter(value -> value > 1);
+
+        assertEquals(2, filtered.size());
+        assertEquals(2L, filtered.get(0).getOrThrow());
+        assertEquals("fail", filtered.get(1).failure().get().toString());
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> LongResultBuffer.create(-1));
+        assertThrows(NullPointerException.class, () -> LongResultBuffer.create(1).addFailure(null));
+        assertThrows(NullPointerException.class, () -> LongResultBuffer.create(1).map(null));
+        assertThrows(NullPointerException.class, () -> LongResultBuffer.create(1).mapToObj(null));
+        assertThrows(NullPointerException.class, () -> LongResultBuffer.create(1).filter(null));
+    }
+}
@@ -17,8 +17,21 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static dev.yila.functional.Matcher.EQ;
 import static dev.yila.functional.Matcher.NEQ;
+import static dev.yila.functional.Matcher.PREFIX;
+import static dev.yila.functional.Matcher.SUFFIX;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class MatcherTest {
@@ -123,4 +136,261 @@ public class MatcherTest {
         assertEquals("small", matcher.resultFor(1).getOrThrow());
         assertEquals("big", matcher.resultFor(3).getOrThrow());
     }
+
+    @Test
+    void compiledEqualityCases() {
+        Matcher<Integer, String> matcher = Matcher.create(Integer.class, String.class);
+        for (int i = 0; i < 500; i++) {
+            int number = i;
+            matcher = matcher.on(EQ(number), n -> "number" + number);
+        }
+        Matcher<Integer, String> compiled = matcher.orElse(n -> "other").compile();
+
+        assertEquals("number0", compiled.resultFor(0).getOrThrow());
+        assertEquals("number499", compiled.resultFor(499).getOrThrow());
+        assertEquals("other", compiled.resultFor(500).getOrThrow());
+    }
+
+    @Test
+    void compiledKeepsFirstMatch() {
+        Matcher<Integer, String> compiled = Matcher.create(Integer.class, String.class)
+                .on(number -> number < 0, number -> "negative")
+                .on(EQ(-1), number -> "minusOne")
+                .on(EQ(1), number -> "one")
+                .on(EQ(1), number -> "otherOne")
+                .on(number -> number > 0, number -> "positive")
+                .on(EQ(null), number -> "null")
+                .compile();
+
+        assertEquals("negative", compiled.resultFor(-1).getOrThrow());
+        assertEquals("one", compiled.resultFor(1).getOrThrow());
+        assertEquals("positive", compiled.resultFor(2).getOrThrow());
+        assertEquals("Not found a matcher for value: 0", compiled.resultFor(0).failure().get().toString());
+    }
+
+    @Test
+    void addCaseToCompiledMatcher() {
+        Matcher<Integer, String> matcher = Matcher.create(Integer.class, String.class)
+                .on(EQ(1), number -> "one")
+                .compile()
+                .on(EQ(2), number -> "two");
+
+        assertEquals("one", matcher.resultFor(1).getOrThrow());
+        assertEquals("two", matcher.resultFor(2).getOrThrow());
+        assertEquals("two", matcher.compile().resultFor(2).getOrThrow());
+    }
+
+    sealed interface Event permits OrderCreated, OrderCancelled, PaymentReceived {}
+    record OrderCreated(String id) implements Event {}
+    record OrderCancelled(String id) implements Event {}
+    record PaymentReceived(long amount) implements Event {}
+
+    @Test
+    void matchTypes() {
+        Matcher<Event, String> matcher = Matcher.create(Event.class, String.class)
+                .onType(OrderCreated.class, created -> "created " + created.id())
+                .on(event -> event instanceof OrderCancelled cancelled && cancelled.id().isEmpty(), event -> "empty")
+                .onType(OrderCancelled.class, cancelled -> "cancelled " + cancelled.id())
+                .onType(Event.class, event -> "event");
+
+        for (Matcher<Event, String> each : List.of(matcher, matcher.compile())) {
+            assertEquals("created 1", each.resultFor(new OrderCreated("1")).getOrThrow());
+            assertEquals("created 2", each.resultFor(new OrderCreated("2")).getOrThrow());
+            assertEquals("empty", each.resultFor(new OrderCancelled("")).getOrThrow());
+            assertEquals("cancelled 3", each.resultFor(new OrderCancelled("3")).getOrThrow());
+            assertEquals("event", each.resultFor(new PaymentReceived(10)).getOrThrow());
+        }
+    }
+
+    @Test
+    void compiledTypeNotFound() {
+        Matcher<Object, String> compiled = Matcher.create(Object.class, String.class)
+                .onType(String.class, text -> "text")
+                .on(EQ(1), number -> "one")
+                .compile();
+
+        assertEquals("text", compiled.resultFor("a").getOrThrow());
+        assertEquals("one", compiled.resultFor(1).getOrThrow());
+        assertTrue(compiled.resultFor(2L).hasFailure());
+        assertThrows(NullPointerException.class, () -> compiled.onType(null, text -> "text"));
+        assertThrows(NullPointerException.class, () -> compiled.onType(String.class, null));
+    }
+
+    @Test
+    void matchRanges() {
+        Matcher<Integer, String> matcher = Matcher.create(Integer.class, String.class)
+                .onRange(0, 10, number -> "small")
+                .on(EQ(15), number -> "fifteen")
+                .onRange(5, 20, number -> "medium")
+                .on(number -> number % 2 == 0, number -> "even")
+                .onRange(20, 100, number -> "large")
+                .onRange(100, 100, number -> "empty");
+
+        for (Matcher<Integer, String> each : List.of(matcher, matcher.compile())) {
+            assertEquals("small", each.resultFor(0).getOrThrow());
+            assertEquals("small", each.resultFor(9).getOrThrow());
+            assertEquals("medium", each.resultFor(10).getOrThrow());
+            assertEquals("fifteen", each.resultFor(15).getOrThrow());
+            assertEquals("medium", each.resultFor(19).getOrThrow());
+            assertEquals("even", each.resultFor(20).getOrThrow());
+            assertEquals("large", each.resultFor(21).getOrThrow());
+            assertEquals("large", each.resultFor(99).getOrThrow());
+            assertEquals("even", each.resultFor(-2).getOrThrow());
+            assertEquals("even", each.resultFor(100).getOrThrow());
+            assertTrue(each.resultFor(-1).hasFailure());
+            assertTrue(each.resultFor(101).hasFailure());
+        }
+    }
+
+    @Test
+    void rangesWithEqualBounds() {
+        Matcher<Object, String> matcher = Matcher.create(Object.class, String.class)
+                .onRange(new BigDecimal("1.0"), new BigDecimal("2"), number -> "one")
+                .onRange(new BigDecimal("1.00"), new BigDecimal("3"), number -> "two")
+                .onType(String.class, text -> "text");
+
+        for (Matcher<Object, String> each : List.of(matcher, matcher.compile())) {
+            assertEquals("one", each.resultFor(new BigDecimal("1")).getOrThrow());
+            assertEquals("two", each.resultFor(new BigDecimal("2.5")).getOrThrow());
+            assertEquals("text", each.resultFor("1").getOrThrow());
+            assertTrue(each.resultFor(new BigDecimal("0.5")).hasFailure());
+            assertTrue(each.resultFor(new Object()).hasFailure());
+        }
+    }
+
+    @Test
+    void rangesOfDifferentTypes() {
+        Matcher<Object, String> matcher = Matcher.create(Object.class, String.class)
+                .onRange(1, 5, number -> "small")
+                .onRange("a", "c", text -> "ab")
+                .onRange(new Date(0), new Timestamp(1000), date -> "epoch")
+                .onRange(3, 10, number -> "medium")
+                .onRange(5L, 10L, number -> "long");
+
+        for (Matcher<Object, String> each : List.of(matcher, matcher.compile())) {
+            assertEquals("small", each.resultFor(3).getOrThrow());
+            assertEquals("medium", each.resultFor(7).getOrThrow());
+            assertEquals("ab", each.resultFor("b").getOrThrow());
+            assertEquals("epoch", each.resultFor(new Date(500)).getOrThrow());
+            assertEquals("long", each.resultFor(7L).getOrThrow());
+            assertTrue(each.resultFor("c").hasFailure());
+            assertTrue(each.resultFor(new Date(1000)).hasFailure());
+            assertTrue(each.resultFor(3.0).hasFailure());
+        }
+    }
+
+    @Test
+    void invalidRanges() {
+        Matcher<Object, String> matcher = Matcher.create(Object.class, String.class);
+
+        assertThrows(IllegalArgumentException.class, () -> matcher.onRange(2, 1, number -> "wrong"));
+        assertThrows(IllegalArgumentException.class, () -> matcher.onRange(new Object(), 1, number -> "wrong"));
+        assertThrows(IllegalArgumentException.class, () -> matcher.onRange(1, new Object(), number -> "wrong"));
+        assertThrows(IllegalArgumentException.class, () -> matcher.onRange(null, 1, number -> "wrong"));
+        assertThrows(IllegalArgumentException.class, () -> matcher.onRange(1, 5L, number -> "wrong"));
+        assertThrows(NullPointerException.class, () -> matcher.onRange(1, 2, null));
+    }
+
+    @Test
+    void matchPrefixesAndSuffixes() {
+        Matcher<String, String> matcher = Matcher.create(String.class, String.class)
+                .on(EQ("/api/v1/orders/export"), path -> "export")
+                .on(PREFIX("/api/v1/orders/"), path -> "order")
+                .on(SUFFIX(".json"), path -> "json")
+                .on(PREFIX("/api/v1/orders"), path -> "orders")
+                .on(path -> path.contains("admin"), path -> "admin")
+                .on(PREFIX("/api/v1/orders/"), path -> "unreachable")
+                .on(PREFIX("/api/"), path -> "api")
+                .on(SUFFIX("s.json"), path -> "unreachable json")
+                .on(SUFFIX(".xml"), path -> "xml")
+                .on(PREFIX(""), path -> "any");
+
+        for (Matcher<String, String> each : List.of(matcher, matcher.compile())) {
+            assertEquals("export", each.resultFor("/api/v1/orders/export").getOrThrow());
+            assertEquals("order", each.resultFor("/api/v1/orders/1").getOrThrow());
+            assertEquals("order", each.resultFor("/api/v1/orders/1.json").getOrThrow());
+            assertEquals("json", each.resultFor("/api/v1/users.json").getOrThrow());
+            assertEquals("orders", each.resultFor("/api/v1/orders").getOrThrow());
+            assertEquals("admin", each.resultFor("/api/v1/admin").getOrThrow());
+            assertEquals("api", each.resultFor("/api/v2/orders").getOrThrow());
+            assertEquals("xml", each.resultFor("/users.xml").getOrThrow());
+            assertEquals("any", each.resultFor("/api").getOrThrow());
+            assertEquals("any", each.resultFor("").getOrThrow());
+        }
+    }
+
+    @Test
+    void nullPrefixesAndSuffixes() {
+        assertThrows(NullPointerException.class, () -> PREFIX(null));
+        assertThrows(NullPointerException.class, () -> SUFFIX(null));
+    }
+
+    private static final MethodHandle NUMBERS = Matcher.create(Integer.class, String.class)
+            .on(EQ(1), number -> "one")
+            .on(number -> number < 0, number -> "negative")
+            .onRange(10, 20, number -> "teen")
+            .on(number -> number % 2 == 0, number -> "even")
+            .compileToHandle();
+
+    @Test
+    void invokeMatcherHandle() throws Throwable {
+        assertEquals("one", ((DirectResult<?>) NUMBERS.invokeExact((Object) 1)).getOrThrow());
+        assertEquals("negative", ((DirectResult<?>) NUMBERS.invoke(-4)).getOrThrow());
+        assertEquals("teen", ((DirectResult<?>) NUMBERS.invoke(12)).getOrThrow());
+        assertEquals("even", ((DirectResult<?>) NUMBERS.invoke(4)).getOrThrow());
+        assertEquals("Not found a matcher for value: 3",
+                ((DirectResult<?>) NUMBERS.invoke(3)).failure().get().toString());
+        assertThrows(IllegalArgumentException.class, () -> NUMBERS.invoke(null));
+        assertEquals(MethodType.methodType(DirectResult.class, Object.class), NUMBERS.type());
+    }
+
+    @Test
+    void matcherHandleWithDefaultCase() throws Throwable {
+        MethodHandle handle = Matcher.create(String.class, Integer.class)
+                .on(PREFIX("a"), text -> 1)
+                .orElse(String::length)
+                .compileToHandle();
+
+        assertEquals(1, ((DirectResult<?>) handle.invoke("abc")).getOrThrow());
+        assertEquals(3, ((DirectResult<?>) handle.invoke("bcd")).getOrThrow());
+        assertEquals(0, ((DirectResult<?>) Matcher.create(String.class, Integer.class)
+                .orElse(String::length).compileToHandle().invoke("")).getOrThrow());
+    }
+
+    @Test
+    void matchAnyOf() {
+        List<Integer> blocked = IntStream.range(0, 10_000).map(number -> number * 3).boxed().toList();
+        Matcher<Integer, String> matcher = Matcher.create(Integer.class, String.class)
+                .on(EQ(3), number -> "three")
+                .onAnyOf(blocked, number -> "blocked")
+                .onAnyOf(List.of(3, 4, 5, 4), number -> "small")
+                .onAnyOf(blocked, true, number -> "unreachable")
+                .orElse(number -> "allowed");
+
+        for (Matcher<Integer, String> each : List.of(matcher, matcher.compile())) {
+            assertEquals("three", each.resultFor(3).getOrThrow());
+            assertEquals("blocked", each.resultFor(0).getOrThrow());
+            assertEquals("blocked", each.resultFor(29_997).getOrThrow());
+            assertEquals("small", each.resultFor(4).getOrThrow());
+            assertEquals("allowed", each.resultFor(29_998).getOrThrow());
+            assertEquals("allowed", each.resultFor(-3).getOrThrow());
+        }
+    }
+
+    @Test
+    void anyOfWithPrefilter() {
+        Set<String> allowed = IntStream.range(0, 50_000).mapToObj(number -> "user" + number).collect(Collectors.toSet());
+        Matcher<String, Boolean> matcher = Matcher.create(String.class, Boolean.class)
+                .onAnyOf(allowed, true, user -> true)
+                .onAnyOf(List.of(), true, user -> false)
+                .orElse(user -> false)
+                .compile();
+
+        for (int number = 0; number < 100_000; number++) {
+            assertEquals(number < 50_000, matcher.resultFor("user" + number).getOrThrow());
+        }
+        assertThrows(NullPointerException.class, () -> matcher.onAnyOf(null, user -> true));
+        assertThrows(NullPointerException.class, () -> matcher.onAnyOf(allowed, null));
+        assertThrows(NullPointerException.class, () -> matcher.onAnyOf(Arrays.asList("a", null), user -> true));
+    }
 }
@@ -0,0 +1,180 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import dev.yila.functional.codec.Codecs;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MemoizedFunTest {
+
+    private final AtomicInteger calls = new AtomicInteger(0);
+    private final Fun<Integer, Integer> square = Fun.from(number -> {
+        calls.incrementAndGet();
+        return number * number;
+    });
+    private final ExceptionFunction<Integer, Integer, TestException> failing = number -> {
+        calls.incrementAndGet();
+        throw new TestException();
+    };
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void memoizeResults() {
+        MemoizedFun<Integer, Integer> memoized = square.memoize(Memoization.maximumSize(100));
+
+        assertEquals(4, memoized.apply(2).getOrThrow());
+        assertEquals(4, memoized.apply(2).getOrThrow());
+        assertEquals(9, memoized.apply(3).getOrThrow());
+
+        assertEquals(2, calls.get());
+        assertEquals(2, memoized.size());
+        CacheStats stats = memoized.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(1.0 / 3, stats.hitRate());
+        assertEquals(stats.loadNanos() / 2, stats.averageLoadNanos());
+    }
+
+    @Test
+    void boundedSize() {
+        MemoizedFun<Integer, Integer> memoized = square.memoize(Memoization.maximumSize(10));
+        for (int i = 0; i < 1000; i++) {
+            memoized.apply(i);
+        }
+
+        assertEquals(10, memoized.size());
+        assertEquals(990, memoized.stats().evictions());
+    }
+
+    @Test
+    void boundedWeight() {
+        MemoizedFun<Integer, Integer> memoized = square.memoize(
+                Memoization.maximumWeight(100, (input, output) -> output));
+        memoized.apply(9);
+        memoized.apply(5);
+
+        assertEquals(1, memoized.size());
+    }
+
+    @Test
+    void failuresNotCachedByDefault() {
+        MemoizedFun<Integer, Integer> memoized = Fun.from(failing, TestException.class)
+                .memoize(Memoization.maximumSize(10));
+
+        assertTrue(memoized.apply(1).hasFailure());
+        assertTrue(memoized.apply(1).hasFailure());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void cachingFailures() {
+        MemoizedFun<Integer, Integer> memoized = Fun.from(failing, TestException.class)
+                .memoize(Memoization.<Integer, Integer>maximumWeight(10, (input, output) -> 5).cachingFailures());
+
+        assertTrue(memoized.apply(1).hasFailure());
+        assertTrue(memoized.apply(1).hasFailure());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void expireAfterWrite() throws InterruptedException {
+        MemoizedFun<Integer, Integer> memoized = square.memoize(
+                Memoization.<Integer, Integer>maximumSize(10).expireAfterWrite(Duration.ofMillis(10)));
+        memoized.apply(2);
+        Thread.sleep(20);
+        memoized.apply(2);
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void invalidate() {
+        MemoizedFun<Integer, Integer> memoized = square.memoize(Memoization.maximumSize(10));
+        memoized.apply(2);
+        memoized.invalidate(2);
+        memoized.apply(2);
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void invalidMemoization() {
+        assertThrows(IllegalArgumentException.class, () -> Memoization.maximumSize(0));
+        assertThrows(IllegalArgumentException.class, () -> Memoization.maximumSize(1).expireAfterWrite(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> Memoization.maximumSize(1).expireAfterWrite(Duration.ofSeconds(-1)));
+        assertThrows(NullPointerException.class, () -> square.memoize(Memoization.maximumSize(1)).apply(null));
+        assertEquals(1.0, new CacheStats(0, 0, 0, 0).hitRate());
+        assertEquals(0, new CacheStats(0, 0, 0, 0).averageLoadNanos());
+    }
+
+    static class TestException extends Exception {}
+
+    @Test
+    void spillEvictedResults() {
+        Spill<Integer, Integer> spill = Spill.to(directory.resolve("square.bin"), Codecs.INTEGER, Codecs.INTEGER);
+        MemoizedFun<Integer, Integer> memoized = square.memoize(Memoization.maximumSize(10), spill);
+        for (int i = 0; i < 100; i++) {
+            memoized.apply(i);
+        }
+
+        assertEquals(90, memoized.spilled());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i * i, memoized.apply(i).getOrThrow());
+        }
+        assertEquals(100, calls.get());
+        assertEquals(0, square.memoize(Memoization.maximumSize(10)).spilled());
+    }
+
+    @Test
+    void warmRestartFromSpillFile() {
+        Spill<Integer, Integer> spill = Spill.to(directory.resolve("square.bin"), Codecs.INTEGER, Codecs.INTEGER);
+        MemoizedFun<Integer, Integer> memoized = square.memoize(Memoization.maximumSize(10), spill);
+        for (int i = 0; i < 20; i++) {
+            memoized.apply(i);
+        }
+        memoized.invalidate(19);
+        memoized.persist();
+        square.memoize(Memoization.maximumSize(10)).persist();
+
+        MemoizedFun<Integer, Integer> restarted = square.memoize(Memoization.maximumSize(10), spill);
+
+        assertEquals(19, restarted.spilled());
+        assertEquals(324, restarted.apply(18).getOrThrow());
+        assertEquals(20, calls.get());
+        assertEquals(361, restarted.apply(19).getOrThrow());
+        assertEquals(21, calls.get());
+    }
+
+    @Test
+    void spillCanNotExpire() {
+        Spill<Integer, Integer> spill = Spill.to(directory.resolve("square.bin"), Codecs.INTEGER, Codecs.INTEGER);
+
+        assertThrows(IllegalArgumentException.class, () -> square.memoize(
+                Memoization.<Integer, Integer>maximumSize(10).expireAfterWrite(Duration.ofMinutes(1)), spill));
+        assertThrows(NullPointerException.class, () -> square.memoize(Memoization.maximumSize(10), null));
+        assertThrows(NullPointerException.class, () -> Spill.to(null, Codecs.INTEGER, Codecs.INTEGER));
+        assertThrows(NullPointerException.class, () -> Spill.to(directory, null, Codecs.INTEGER));
+        assertThrows(NullPointerException.class, () -> Spill.to(directory, Codecs.INTEGER, null));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import dev.yila.functional.failure.MultipleFailures;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelReduceTest {
+
+    private static final int SIZE = 1_000_000;
+    private static final Fun2<Long, Integer, Long> ADD = Fun2.from((sum, number) -> sum + number);
+    private static final Fun2<Long, Long, Long> SUM = Fun2.from(Long::sum);
+
+    private final List<Integer> numbers = IntStream.rangeClosed(1, SIZE).boxed().collect(Collectors.toList());
+
+    @Test
+    void reduce() {
+        Result<Long> result = Result.parallelReduce(numbers, 0L, ADD, SUM);
+
+        assertEquals(500_000_500_000L, result.getOrThrow());
+    }
+
+    @Test
+    void reduceEmptyAndSmallCollections() {
+        assertEquals(0L, Result.parallelReduce(List.<Integer>of(), 0L, ADD, SUM).getOrThrow());
+        assertEquals(6L, Result.parallelReduce(List.of(1, 2, 3), 0L, ADD, SUM).getOrThrow());
+    }
+
+    @Test
+    void firstFailureCancelsOutstandingWork() {
+        AtomicInteger calls = new AtomicInteger(0);
+        Fun2<Long, Integer, Long> failing = Fun2.from((sum, number) -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("fail " + number);
+        });
+
+        Result<Long> result = Result.parallelReduce(numbers, 0L, failing, SUM);
+
+        assertTrue(result.hasFailure());
+        assertTrue(result.failure().get().toString().contains("fail "));
+        assertTrue(calls.get() < SIZE);
+    }
+
+    @Test
+    void failureInCombiner() {
+        Fun2<Long, Long, Long> failing = Fun2.from((left, right) -> {
+            throw new IllegalStateException("combine");
+        });
+
+        Result<Long> result = Result.parallelReduce(numbers, 0L, ADD, failing);
+
+        assertEquals("ExceptionFailure: java.lang.IllegalStateException: combine", result.failure().get().toString());
+    }
+
+    @Test
+    void collectAllFailures() {
+        Fun2<Long, Integer, Long> failOnMultiplesOf1000 = new Fun2<>((sum, number) -> sum + number) {
+            @Override
+            public Result<Long> apply(Long sum, Integer number) {
+                return number % 1000 == 0 ? DirectResult.failure("multiple " + number) : super.apply(sum, number);
+            }
+        };
+
+        Result<Long> result = Result.parallelReduceAllFailures(numbers, 0L, failOnMultiplesOf1000, SUM);
+
+        MultipleFailures failures = (MultipleFailures) result.failure().get();
+        assertEquals(1000, failures.getFailures().size());
+        assertEquals("multiple 1000", failures.getFailures().get(0).toString());
+        assertEquals("multiple 1000000", failures.getFailures().get(999).toString());
+    }
+
+    @Test
+    void collectAllFailuresOfCombiner() {
+        Fun2<Long, Long, Long> failing = Fun2.from((left, right) -> {
+            throw new IllegalStateException("combine");
+        });
+
+        Result<Long> result = Result.parallelReduceAllFailures(numbers, 0L, ADD, failing);
+
+        MultipleFailures failures = (MultipleFailures) result.failure().get();
+        assertFalse(failures.getFailures().isEmpty());
+    }
+
+    @Test
+    void withoutFailuresInAllFailuresMode() {
+        assertEquals(500_000_500_000L, Result.parallelReduceAllFailures(numbers, 0L, ADD, SUM).getOrThrow());
+    }
+
+    @Test
+    void nullArguments() {
+        assertThrows(NullPointerException.class, () -> Result.parallelReduce(null, 0L, ADD, SUM));
+        assertThrows(NullPointerException.class, () -> Result.parallelReduce(numbers, null, ADD, SUM));
+        assertThrows(NullPointerException.class, () -> Result.parallelReduce(numbers, 0L, null, SUM));
+        assertThrows(NullPointerException.class, () -> Result.parallelReduce(numbers, 0L, ADD, null));
+    }
+}
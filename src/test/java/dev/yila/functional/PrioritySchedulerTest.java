@@ -0,0 +1,134 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static dev.yila.functional.PriorityScheduler.Priority.*;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrioritySchedulerTest {
+
+    private final ExecutorService singleThread = Executors.newSingleThreadExecutor();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<String> executions = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        singleThread.shutdown();
+    }
+
+    @Test
+    void highestPriorityFirst() {
+        PriorityScheduler scheduler = PriorityScheduler.create(singleThread, Duration.ofHours(1));
+        block(scheduler);
+        scheduler.executor(BATCH).execute(() -> executions.add("batch"));
+        scheduler.executor(NORMAL).execute(() -> executions.add("normal"));
+        scheduler.executor(INTERACTIVE).execute(() -> executions.add("interactive1"));
+        scheduler.executor(INTERACTIVE).execute(() -> executions.add("interactive2"));
+        assertEquals(4, scheduler.pending());
+
+        release.countDown();
+
+        await().until(() -> executions.size() == 4);
+        assertEquals(List.of("interactive1", "interactive2", "normal", "batch"), executions);
+    }
+
+    @Test
+    void samePriorityInSubmissionOrder() {
+        PriorityScheduler scheduler = PriorityScheduler.create(singleThread, Duration.ofHours(1));
+        block(scheduler);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String name = "task" + i;
+            expected.add(name);
+            scheduler.executor(NORMAL).execute(() -> executions.add(name));
+        }
+
+        release.countDown();
+
+        await().until(() -> executions.size() == 1000);
+        assertEquals(expected, executions);
+    }
+
+    @Test
+    void agingAvoidsStarvation() throws InterruptedException {
+        PriorityScheduler scheduler = PriorityScheduler.create(singleThread, Duration.ofMillis(1));
+        block(scheduler);
+        scheduler.executor(BATCH).execute(() -> executions.add("batch"));
+        Thread.sleep(20);
+        scheduler.executor(INTERACTIVE).execute(() -> executions.add("interactive"));
+
+        release.countDown();
+
+        await().until(() -> executions.size() == 2);
+        assertEquals(List.of("batch", "interactive"), executions);
+    }
+
+    @Test
+    void asyncResultStagesInheritPriority() {
+        PriorityScheduler scheduler = PriorityScheduler.create(singleThread, Duration.ofHours(1));
+        block(scheduler);
+        scheduler.executor(BATCH).execute(() -> executions.add("batch"));
+        AsyncResult<Integer> result = AsyncResult.create(scheduler, INTERACTIVE, () -> {
+            executions.add("supplier");
+            return 5;
+        });
+        Result<Integer> mapped = result.map(value -> {
+            executions.add("map");
+            return value * 2;
+        });
+
+        release.countDown();
+
+        assertEquals(10, mapped.getOrThrow());
+        await().until(() -> executions.size() == 3);
+        assertEquals(List.of("supplier", "map", "batch"), executions);
+    }
+
+    @Test
+    void rejectedByExecutor() {
+        PriorityScheduler scheduler = PriorityScheduler.create(runnable -> {
+            throw new RejectedExecutionException("full");
+        }, Duration.ofMillis(1));
+
+        assertThrows(RejectedExecutionException.class, () -> scheduler.executor(NORMAL).execute(() -> {}));
+        assertEquals(0, scheduler.pending());
+    }
+
+    private void block(PriorityScheduler scheduler) {
+        CountDownLatch started = new CountDownLatch(1);
+        scheduler.executor(INTERACTIVE).execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try {
+            started.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import dev.yila.functional.failure.Failure;
+import dev.yila.functional.failure.MultipleFailures;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultBufferTest {
+
+    @Test
+    void appendValuesAndFailures() {
+        ResultBuffer<String> buffer = ResultBuffer.<String>create(0)
+                .add("a")
+                .addFailure(Failure.create("fail"))
+                .add(DirectResult.ok("b"))
+                .add(DirectResult.failure("other"));
+
+        assertEquals(4, buffer.size());
+        assertEquals(2, buffer.failureCount());
+        assertEquals("a", buffer.get(0).getOrThrow());
+        assertEquals("fail", buffer.get(1).failure().get().toString());
+        assertEquals("b", buffer.get(2).getOrThrow());
+        assertEquals("other", buffer.get(3).failure().get().toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(4));
+    }
+
+    @Test
+    void growWithManyElements() {
+        List<Integer> numbers = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+        ResultBuffer<Integer> buffer = ResultBuffer.create(1);
+        numbers.forEach(buffer::add);
+
+        assertEquals(numbers, buffer.sequence().getOrThrow());
+    }
+
+    @Test
+    void mapValuesAndKeepFailures() {
+        ResultBuffer<Integer> buffer = ResultBuffer.ofResults(List.of(
+                DirectResult.ok(1), DirectResult.failure("fail"), DirectResult.ok(0), DirectResult.ok(4)));
+
+        ResultBuffer<Integer> mapped = buffer.map(number -> 12 / number);
+
+        assertEquals(List.of("DirectResult(OK): 12", "DirectResult(FAILURE): fail",
+                "DirectResult(FAILURE): ExceptionFailure: java.lang.ArithmeticException: / by zero",
+                "DirectResult(OK): 3"),
+                mapped.results().stream().map(Result::toString).toList());
+        assertEquals(1, buffer.failureCount());
+        assertEquals(2, mapped.failureCount());
+    }
+
+    @Test
+    void mapToNullIsFailure() {
+        ResultBuffer<String> mapped = ResultBuffer.of(List.of("a")).map(value -> null);
+
+        assertEquals("ExceptionFailure: java.lang.NullPointerException: The map function must not return null",
+                mapped.get(0).failure().get().toString());
+    }
+
+    @Test
+    void filterValuesAndKeepFailures() {
+        ResultBuffer<Integer> buffer = ResultBuffer.of(List.of(1, 2, 3, 4)).addFailure(Failure.create("fail"));
+
+        ResultBuffer<Integer> filtered = buffer.filter(number -> number % 2 == 0);
+
+        assertEquals(3, filtered.size());
+        assertEquals(2, filtered.get(0).getOrThrow());
+        assertEquals(4, filtered.get(1).getOrThrow());
+        assertEquals("fail", filtered.get(2).failure().get().toString());
+    }
+
+    @Test
+    void sequenceFailuresInIndexOrder() {
+        ResultBuffer<Integer> buffer = ResultBuffer.<Integer>create(4)
+                .addFailure(Failure.create("first"))
+                .add(1)
+                .addFailure(Failure.create("second"));
+
+        MultipleFailures failures = (MultipleFailures) buffer.sequence().failure().get();
+
+        assertEquals(List.of("first", "second"), failures.getFailures().stream().map(Failure::toString).toList());
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> ResultBuffer.create(-1));
+        assertThrows(NullPointerException.class, () -> ResultBuffer.create(1).add((Object) null));
+        assertThrows(NullPointerException.class, () -> ResultBuffer.create(1).addFailure(null));
+        assertThrows(NullPointerException.class, () -> ResultBuffer.create(1).map(null));
+        assertThrows(NullPointerException.class, () -> ResultBuffer.create(1).filter(null));
+    }
+}
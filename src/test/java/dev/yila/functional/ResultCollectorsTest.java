@@ -0,0 +1,111 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import dev.yila.functional.failure.AggregatedFailures;
+import dev.yila.functional.failure.Failure;
+import dev.yila.functional.failure.MultipleFailures;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultCollectorsTest {
+
+    @Test
+    void partition() {
+        Pair<List<Integer>, List<Failure>> partition = results(20).collect(ResultCollectors.partition());
+
+        assertEquals(List.of(1, 2, 3, 4, 6, 7, 8, 9, 11, 12, 13, 14, 16, 17, 18, 19), partition.left());
+        assertEquals(List.of("5", "10", "15", "20"), partition.right().stream().map(Failure::toString).toList());
+    }
+
+    @Test
+    void parallelPartition() {
+        Pair<List<Integer>, List<Failure>> partition = results(100_000).parallel().collect(ResultCollectors.partition());
+
+        assertEquals(80_000, partition.left().size());
+        assertEquals(20_000, partition.right().size());
+        assertEquals(results(100_000).filter(result -> !result.hasFailure()).map(Result::getOrThrow).toList(),
+                partition.left());
+    }
+
+    @Test
+    void sequence() {
+        Result<List<Integer>> success = Stream.<Result<Integer>>of(DirectResult.ok(1), DirectResult.ok(2))
+                .collect(ResultCollectors.sequence());
+        Result<List<Integer>> failure = results(100_000).parallel().collect(ResultCollectors.sequence());
+
+        assertEquals(List.of(1, 2), success.getOrThrow());
+        MultipleFailures failures = (MultipleFailures) failure.failure().get();
+        assertEquals(20_000, failures.getFailures().size());
+        assertEquals("5", failures.getFailures().get(0).toString());
+    }
+
+    @Test
+    void sequenceWithAggregatedFailures() {
+        Result<List<Integer>> success = results(4).collect(ResultCollectors.sequence(2, 10));
+        Result<List<Integer>> failure = results(100_000).parallel().collect(ResultCollectors.sequence(2, 10));
+
+        assertEquals(List.of(1, 2, 3, 4), success.getOrThrow());
+        AggregatedFailures failures = (AggregatedFailures) failure.failure().get();
+        assertEquals(20_000, failures.getTotal());
+        assertEquals(1, failures.getGroups().size());
+        assertEquals("5", failures.getGroups().get(0).examples().get(0).toString());
+        assertEquals("10", failures.getGroups().get(0).examples().get(1).toString());
+    }
+
+    @Test
+    void sequenceFirstFailure() {
+        Result<List<Integer>> success = results(4).collect(ResultCollectors.sequenceFirstFailure());
+        Result<List<Integer>> failure = results(100_000).parallel().collect(ResultCollectors.sequenceFirstFailure());
+        Result<List<Integer>> sequential = results(20).collect(ResultCollectors.sequenceFirstFailure());
+
+        assertEquals(List.of(1, 2, 3, 4), success.getOrThrow());
+        assertEquals("5", failure.failure().get().toString());
+        assertEquals("5", sequential.failure().get().toString());
+    }
+
+    @Test
+    void parallelSequenceWithoutFailures() {
+        List<Integer> numbers = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+        Result<List<Integer>> result = numbers.parallelStream()
+                .map(DirectResult::ok)
+                .collect(ResultCollectors.sequenceFirstFailure());
+
+        assertEquals(numbers, result.getOrThrow());
+    }
+
+    @Test
+    void parallelFailureOnlyInLastPart() {
+        Result<List<Integer>> result = IntStream.rangeClosed(1, 100_000).boxed().parallel()
+                .map(number -> number == 100_000
+                        ? DirectResult.<Integer>failure("last")
+                        : DirectResult.ok(number))
+                .collect(ResultCollectors.sequenceFirstFailure());
+
+        assertEquals("last", result.failure().get().toString());
+    }
+
+    private Stream<Result<Integer>> results(int size) {
+        return IntStream.rangeClosed(1, size).boxed()
+                .map(number -> number % 5 == 0
+                        ? DirectResult.failure(String.valueOf(number))
+                        : DirectResult.ok(number));
+    }
+}
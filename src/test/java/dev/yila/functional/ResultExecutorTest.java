@@ -0,0 +1,182 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static dev.yila.functional.ResultExecutor.SheddingPolicy.*;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ResultExecutor executor;
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void submitSupplier() {
+        executor = ResultExecutor.create(2, 10, REJECT);
+
+        assertEquals(5, executor.submit(() -> 5).getOrThrow());
+    }
+
+    @Test
+    void submitFun() {
+        executor = ResultExecutor.create(2, 10, REJECT);
+        Fun<Integer, Integer> twoTimes = Fun.from(number -> number * 2);
+
+        assertEquals(10, executor.submit(twoTimes, 5).map(number -> number).getOrThrow());
+    }
+
+    @Test
+    void submitFailures() {
+        executor = ResultExecutor.create(2, 10, REJECT);
+        RuntimeException exception = new RuntimeException("fail");
+
+        assertSame(exception, executor.submit(() -> {
+            throw exception;
+        }).failure().get().toException());
+        assertInstanceOf(IllegalArgumentException.class,
+                executor.submit(() -> null).failure().get().toException());
+        assertSame(exception, executor.submit(Fun.from(number -> {
+            throw exception;
+        }), 5).failure().get().toException());
+    }
+
+    @Test
+    void submitError() {
+        executor = ResultExecutor.create(1, 10, REJECT);
+
+        AsyncResult<Integer> result = executor.submit(() -> {
+            throw new Error("boom");
+        });
+
+        assertThrows(CompletionException.class, result::getOrThrow);
+        assertEquals(1, executor.submit(() -> 1).getOrThrow());
+    }
+
+    @Test
+    void rejectWhenQueueIsFull() {
+        executor = ResultExecutor.create(1, 1, REJECT);
+        AsyncResult<Integer> running = executor.submit(this::blocked);
+        AsyncResult<Integer> queued = executor.submit(() -> 2);
+        AsyncResult<Integer> rejected = executor.submit(() -> 3);
+
+        assertInstanceOf(RejectedExecutionException.class, rejected.failure().get().toException());
+        assertEquals(0, rejected.failure().get().toException().getStackTrace().length);
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {}));
+        assertEquals(1, executor.metrics().queueDepth());
+        assertEquals(2, executor.metrics().rejected());
+
+        release.countDown();
+        assertEquals(1, running.getOrThrow());
+        assertEquals(2, queued.getOrThrow());
+    }
+
+    @Test
+    void callerRunsWhenQueueIsFull() {
+        executor = ResultExecutor.create(1, 1, CALLER_RUNS);
+        executor.submit(this::blocked);
+        executor.submit(() -> "queued");
+
+        AsyncResult<String> result = executor.submit(() -> Thread.currentThread().getName());
+
+        assertEquals(Thread.currentThread().getName(), result.getOrThrow());
+        assertEquals(0, executor.metrics().rejected());
+    }
+
+    @Test
+    void dropOldestWhenQueueIsFull() {
+        executor = ResultExecutor.create(1, 1, DROP_OLDEST);
+        executor.submit(this::blocked);
+        AsyncResult<Integer> oldest = executor.submit(() -> 2);
+        AsyncResult<Integer> newest = executor.submit(() -> 3);
+
+        assertInstanceOf(RejectedExecutionException.class, oldest.failure().get().toException());
+        release.countDown();
+        assertEquals(3, newest.getOrThrow());
+        assertEquals(1, executor.metrics().dropped());
+    }
+
+    @Test
+    void dropOldestRunnable() {
+        executor = ResultExecutor.create(1, 1, DROP_OLDEST);
+        AtomicBoolean executed = new AtomicBoolean(false);
+        executor.submit(this::blocked);
+        executor.execute(() -> executed.set(true));
+
+        AsyncResult<Integer> newest = executor.submit(() -> 3);
+        release.countDown();
+
+        assertEquals(3, newest.getOrThrow());
+        assertFalse(executed.get());
+    }
+
+    @Test
+    void rejectAfterShutdown() {
+        executor = ResultExecutor.create(1, 1, CALLER_RUNS);
+        executor.shutdown();
+
+        assertTrue(executor.submit(() -> 1).hasFailure());
+        assertEquals(1, executor.metrics().rejected());
+    }
+
+    @Test
+    void metrics() {
+        executor = ResultExecutor.create(1, 10, REJECT);
+        assertEquals(0, executor.metrics().averageWaitNanos());
+        assertEquals(0, executor.metrics().averageRunNanos());
+
+        executor.submit(() -> sleep(20)).getOrThrow();
+        executor.submit(() -> sleep(20)).getOrThrow();
+
+        await().until(() -> executor.metrics().completed() == 2);
+        ResultExecutor.Metrics metrics = executor.metrics();
+        assertEquals(0, metrics.queueDepth());
+        assertTrue(metrics.runNanos() >= 40_000_000);
+        assertTrue(metrics.averageRunNanos() >= 20_000_000);
+        assertTrue(metrics.averageWaitNanos() >= 0);
+        assertEquals(metrics.waitNanos() / 2, metrics.averageWaitNanos());
+    }
+
+    private Integer blocked() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 1;
+    }
+
+    private Integer sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 1;
+    }
+}
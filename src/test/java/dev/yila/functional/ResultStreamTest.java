@@ -0,0 +1,144 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import dev.yila.functional.failure.Failure;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultStreamTest {
+
+    private final AtomicInteger pulled = new AtomicInteger(0);
+    private final List<Integer> consumed = new ArrayList<>();
+    private final List<Failure> failures = new ArrayList<>();
+
+    @Test
+    void lazyEvaluation() {
+        ResultStream<Integer> stream = ResultStream.of(numbers(1_000_000))
+                .map(number -> number * 2)
+                .filter(number -> number % 3 == 0);
+        assertEquals(0, pulled.get());
+
+        Iterator<Result<Integer>> iterator = stream.iterator();
+        assertEquals(6, iterator.next().getOrThrow());
+        assertEquals(3, pulled.get());
+    }
+
+    @Test
+    void forEachValue() {
+        Result<Long> result = ResultStream.of(List.of(1, 2, 3, 4))
+                .map(Fun.from((Integer number) -> number * 10))
+                .filter(number -> number > 10)
+                .forEach(consumed::add);
+
+        assertEquals(3L, result.getOrThrow());
+        assertEquals(List.of(20, 30, 40), consumed);
+    }
+
+    @Test
+    void stopAtFirstFailure() {
+        Result<Long> result = ResultStream.of(numbers(100))
+                .flatMap(this::failMultiplesOf5)
+                .forEach(consumed::add);
+
+        assertEquals("multiple of 5: 5", result.failure().get().toString());
+        assertEquals(List.of(1, 2, 3, 4), consumed);
+        assertEquals(5, pulled.get());
+    }
+
+    @Test
+    void sendFailuresToSink() {
+        Result<Long> result = ResultStream.of(numbers(20))
+                .flatMap(this::failMultiplesOf5)
+                .filter(number -> number % 2 == 0)
+                .onFailure(failures::add)
+                .forEach(consumed::add);
+
+        assertEquals(8L, result.getOrThrow());
+        assertEquals(4, failures.size());
+        assertEquals(List.of(2, 4, 6, 8, 12, 14, 16, 18), consumed);
+    }
+
+    @Test
+    void stopAfterMaxFailures() {
+        Result<Long> result = ResultStream.of(numbers(1_000_000))
+                .flatMap(this::failMultiplesOf5)
+                .onFailure(failures::add, 2)
+                .forEach(consumed::add);
+
+        assertEquals("multiple of 5: 10", result.failure().get().toString());
+        assertEquals(2, failures.size());
+        assertEquals(8, consumed.size());
+        assertEquals(10, pulled.get());
+    }
+
+    @Test
+    void consumeInChunks() {
+        List<List<Integer>> chunks = new ArrayList<>();
+        Result<Long> result = ResultStream.of(numbers(7)).forEachChunk(3, chunks::add);
+
+        assertEquals(7L, result.getOrThrow());
+        assertEquals(List.of(List.of(1, 2, 3), List.of(4, 5, 6), List.of(7)), chunks);
+    }
+
+    @Test
+    void consumeInChunksUntilFailure() {
+        List<List<Integer>> chunks = new ArrayList<>();
+        Result<Long> result = ResultStream.of(numbers(100))
+                .flatMap(this::failMultiplesOf5)
+                .forEachChunk(3, chunks::add);
+
+        assertTrue(result.hasFailure());
+        assertEquals(List.of(List.of(1, 2, 3), List.of(4)), chunks);
+    }
+
+    @Test
+    void streamOfResults() {
+        Iterator<Result<Integer>> results = List.<Result<Integer>>of(DirectResult.ok(1), DirectResult.failure("fail")).iterator();
+        Iterator<Result<Integer>> iterator = ResultStream.ofResults(results).onFailure(failures::add).iterator();
+
+        assertEquals(1, iterator.next().getOrThrow());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertEquals(1, failures.size());
+    }
+
+    @Test
+    void invalidArguments() {
+        ResultStream<Integer> stream = ResultStream.of(List.of(1));
+
+        assertThrows(IllegalArgumentException.class, () -> stream.onFailure(failures::add, 0));
+        assertThrows(IllegalArgumentException.class, () -> stream.forEachChunk(0, chunk -> {}));
+    }
+
+    private Result<Integer> failMultiplesOf5(Integer number) {
+        return number % 5 == 0
+                ? DirectResult.failure("multiple of 5: " + number)
+                : DirectResult.ok(number);
+    }
+
+    private Iterator<Integer> numbers(int size) {
+        return IntStream.rangeClosed(1, size)
+                .peek(number -> pulled.incrementAndGet())
+                .iterator();
+    }
+}
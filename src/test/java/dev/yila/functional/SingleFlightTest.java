@@ -0,0 +1,129 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private final AtomicInteger calls = new AtomicInteger(0);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    void shareInFlightComputation() {
+        SingleFlight<Integer, String> singleFlight = SingleFlight.create(ThreadPool.get(), Fun.from(this::blocked));
+
+        List<AsyncResult<String>> results = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            results.add(singleFlight.get(1));
+        }
+        AsyncResult<String> other = singleFlight.get(2);
+        assertEquals(2, singleFlight.inFlight());
+        release.countDown();
+
+        results.forEach(result -> assertEquals("value1", result.getOrThrow()));
+        assertEquals("value2", other.getOrThrow());
+        assertEquals(2, calls.get());
+        assertEquals(99, singleFlight.saved());
+    }
+
+    @Test
+    void computeAgainWhenCompleted() {
+        SingleFlight<Integer, String> singleFlight = SingleFlight.create(ThreadPool.get(), Fun.from(this::value));
+
+        assertEquals("value1", singleFlight.get(1).getOrThrow());
+        await().until(() -> singleFlight.inFlight() == 0);
+        assertEquals("value1", singleFlight.get(1).getOrThrow());
+
+        assertEquals(2, calls.get());
+        assertEquals(0, singleFlight.saved());
+    }
+
+    @Test
+    void concurrentCallers() throws InterruptedException {
+        SingleFlight<Integer, String> singleFlight = SingleFlight.create(key ->
+                AsyncResult.create(ThreadPool.get(), () -> blocked(key)));
+        List<Thread> threads = new ArrayList<>();
+        List<AsyncResult<String>> results = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Thread thread = new Thread(() -> results.add(singleFlight.get(7)));
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        release.countDown();
+
+        results.forEach(result -> assertEquals("value7", result.getOrThrow()));
+        assertEquals(1, calls.get());
+        assertEquals(49, singleFlight.saved());
+    }
+
+    @Test
+    void failuresAreShared() {
+        SingleFlight<Integer, String> singleFlight = SingleFlight.create(ThreadPool.get(), Fun.from(key -> {
+            throw new IllegalStateException("fail");
+        }));
+
+        assertInstanceOf(IllegalStateException.class, singleFlight.get(1).failure().get().toException());
+    }
+
+    @Test
+    void loaderThrowingException() {
+        SingleFlight<Integer, String> singleFlight = SingleFlight.create(ThreadPool.get(), Fun.from(this::value));
+        SingleFlight<Integer, String> rejected = SingleFlight.create(runnable -> {
+            throw new RejectedExecutionException("full");
+        }, Fun.from(this::value));
+
+        assertInstanceOf(RejectedExecutionException.class, rejected.get(1).failure().get().toException());
+        assertEquals(0, rejected.inFlight());
+        assertEquals("value1", singleFlight.get(1).getOrThrow());
+    }
+
+    @Test
+    void loaderWithError() {
+        SingleFlight<Integer, String> singleFlight = SingleFlight.create(key ->
+                AsyncResult.create(ThreadPool.get(), () -> {
+                    throw new Error("boom");
+                }));
+
+        assertThrows(CompletionException.class, () -> singleFlight.get(1).getOrThrow());
+    }
+
+    private String blocked(Integer key) {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value(key);
+    }
+
+    private String value(Integer key) {
+        calls.incrementAndGet();
+        return "value" + key;
+    }
+}
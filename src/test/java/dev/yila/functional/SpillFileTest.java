@@ -0,0 +1,214 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional;
+
+import dev.yila.functional.codec.Codecs;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpillFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void putGetAndRemove() {
+        SpillFile<String, String> file = open();
+
+        assertTrue(file.put("key", "value"));
+        assertTrue(file.put("key", "other"));
+        assertEquals("value", file.get("key"));
+        assertNull(file.get("missing"));
+        assertEquals(1, file.size());
+
+        file.remove("key");
+        file.remove("missing");
+        assertNull(file.get("key"));
+        assertEquals(0, file.size());
+    }
+
+    @Test
+    void keysWithSameHash() {
+        SpillFile<String, String> file = open();
+        file.put("Aa", "first");
+        file.put("BB", "second");
+
+        file.remove("Aa");
+
+        assertNull(file.get("Aa"));
+        assertEquals("second", file.get("BB"));
+    }
+
+    @Test
+    void reopenFile() {
+        SpillFile<String, String> file = open();
+        file.put("kept", "value");
+        file.put("removed", "value");
+        file.remove("removed");
+        file.put("again", "first");
+        file.remove("again");
+        file.put("again", "second");
+        file.force();
+
+        SpillFile<String, String> reopened = open();
+
+        assertEquals("value", reopened.get("kept"));
+        assertNull(reopened.get("removed"));
+        assertEquals("second", reopened.get("again"));
+        assertEquals(2, reopened.size());
+    }
+
+    @Test
+    void stopLoadingAtCorruptRecord() throws IOException {
+        SpillFile<String, String> file = open();
+        file.put("first", "one");
+        file.put("second", "two");
+        file.put("third", "three");
+        file.force();
+        try (FileChannel channel = FileChannel.open(directory.resolve("spill.bin"), StandardOpenOption.WRITE)) {
+            // the first byte of the value of the second record
+            channel.write(ByteBuffer.wrap(new byte[] {'X'}), 4 + 29 + 13 + 10 + 4);
+        }
+
+        SpillFile<String, String> reopened = open();
+
+        assertEquals("one", reopened.get("first"));
+        assertNull(reopened.get("second"));
+        assertNull(reopened.get("third"));
+        assertEquals(1, reopened.size());
+        assertTrue(reopened.put("fourth", "four"));
+        assertEquals("four", open().get("fourth"));
+        assertEquals("one", open().get("first"));
+    }
+
+    @Test
+    void growFile() {
+        SpillFile<String, String> file = open();
+        String value = "x".repeat(1000);
+        for (int i = 0; i < 500; i++) {
+            file.put("key" + i, value + i);
+        }
+
+        assertEquals(value + 0, file.get("key0"));
+        assertEquals(value + 499, open().get("key499"));
+    }
+
+    @Test
+    void rejectUnknownFile() throws IOException {
+        Path unknown = Files.writeString(directory.resolve("spill.bin"), "not a spill file");
+        Path tiny = Files.writeString(directory.resolve("tiny.bin"), "ab");
+
+        assertThrows(IllegalArgumentException.class, this::open);
+        assertThrows(IllegalArgumentException.class, () -> new SpillFile<>(tiny, Codecs.STRING, Codecs.STRING));
+        assertEquals("not a spill file", Files.readString(unknown));
+        assertEquals("ab", Files.readString(tiny));
+    }
+
+    @Test
+    void useEmptyFile() throws IOException {
+        Files.createFile(directory.resolve("spill.bin"));
+
+        SpillFile<String, String> file = open();
+
+        assertEquals(0, file.size());
+        assertTrue(file.put("key", "value"));
+        assertEquals("value", open().get("key"));
+    }
+
+    @Test
+    void compactInBackground() {
+        SpillFile<String, String> file = open();
+        String value = "x".repeat(100);
+        for (int i = 0; i < 2000; i++) {
+            file.put("key" + i, value);
+        }
+        file.put("kept", "value");
+        for (int i = 0; i < 2000; i++) {
+            file.remove("key" + i);
+        }
+
+        await().until(() -> file.deadBytes() < 100_000);
+        assertEquals("value", file.get("kept"));
+        assertEquals(1, file.size());
+        assertEquals("value", open().get("kept"));
+    }
+
+    @Test
+    void compact() {
+        SpillFile<String, String> file = open();
+        file.put("Aa", "first");
+        file.put("BB", "second");
+        file.put("removed", "value");
+        file.remove("removed");
+
+        file.compact();
+
+        assertEquals(0, file.deadBytes());
+        assertEquals("first", file.get("Aa"));
+        assertEquals("second", file.get("BB"));
+        assertTrue(file.put("new", "value"));
+        SpillFile<String, String> reopened = open();
+        assertEquals(3, reopened.size());
+        assertEquals("value", reopened.get("new"));
+    }
+
+    @Test
+    void compactFailure() throws IOException {
+        SpillFile<String, String> file = open();
+        Files.createDirectory(directory.resolve("spill.bin.compact"));
+        Files.writeString(directory.resolve("spill.bin.compact").resolve("file"), "blocks delete");
+
+        assertThrows(UncheckedIOException.class, file::compact);
+    }
+
+    @Test
+    void putFailsWhenFileCanNotGrow() throws IOException {
+        Path subdirectory = Files.createDirectory(directory.resolve("sub"));
+        SpillFile<String, String> file = new SpillFile<>(subdirectory.resolve("spill.bin"), Codecs.STRING, Codecs.STRING);
+        Files.delete(subdirectory.resolve("spill.bin"));
+        Files.delete(subdirectory);
+
+        assertFalse(file.put("key", "x".repeat(100_000)));
+    }
+
+    @Test
+    void removeWhenFileCanNotGrow() throws IOException {
+        Path subdirectory = Files.createDirectory(directory.resolve("sub"));
+        SpillFile<String, String> file = new SpillFile<>(subdirectory.resolve("spill.bin"), Codecs.STRING, Codecs.STRING);
+        String key = "k".repeat(40_000);
+        assertTrue(file.put(key, "value"));
+        Files.delete(subdirectory.resolve("spill.bin"));
+        Files.delete(subdirectory);
+
+        file.remove(key);
+
+        assertNull(file.get(key));
+        assertEquals(0, file.size());
+    }
+
+    private SpillFile<String, String> open() {
+        return new SpillFile<>(directory.resolve("spill.bin"), Codecs.STRING, Codecs.STRING);
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional.codec;
+
+import dev.yila.functional.AsyncResult;
+import dev.yila.functional.DirectResult;
+import dev.yila.functional.Pair;
+import dev.yila.functional.Result;
+import dev.yila.functional.failure.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CodecsTest {
+
+    @Test
+    void primitives() {
+        assertEquals(42, roundTrip(Codecs.INTEGER, 42));
+        assertEquals(Long.MIN_VALUE, roundTrip(Codecs.LONG, Long.MIN_VALUE));
+        assertEquals(1.5, roundTrip(Codecs.DOUBLE, 1.5));
+        assertArrayEquals(new byte[] {1, 2, 3}, roundTrip(Codecs.BYTES, new byte[] {1, 2, 3}));
+        assertEquals(Long.BYTES, Codecs.LONG.toBuffer(1L).remaining());
+    }
+
+    @Test
+    void strings() {
+        String text = "ascii ñ € 😀";
+
+        assertEquals(text, roundTrip(Codecs.STRING, text));
+        assertEquals(Integer.BYTES + text.getBytes(java.nio.charset.StandardCharsets.UTF_8).length,
+                Codecs.STRING.size(text));
+        assertNull(roundTrip(Codecs.STRING, null));
+        assertEquals("� end", roundTrip(Codecs.STRING, "\uD83D end"));
+        assertEquals(Codecs.STRING.size("\uD83D end"), Codecs.STRING.toBuffer("\uD83D end").remaining());
+    }
+
+    @Test
+    void decodeFromDirectBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        Codecs.STRING.encode("direct €", buffer);
+
+        assertEquals("direct €", Codecs.STRING.decode(buffer.flip()));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void results() {
+        Codec<Result<Long>> codec = Codecs.result(Codecs.LONG);
+
+        assertEquals(5L, roundTrip(codec, DirectResult.ok(5L)).getOrThrow());
+        assertEquals("fail", roundTrip(codec, DirectResult.<Long>failure("fail")).failure().get().toString());
+        assertEquals(7L, roundTrip(codec, AsyncResult.create(Runnable::run, () -> 7L)).getOrThrow());
+    }
+
+    @Test
+    void failures() {
+        assertFailure(Failure.create("description"));
+        assertFailure(Failure.create("CODE", "description"));
+        assertFailure(Failure.create(null, "null code"));
+        assertFailure(Failure.create(new IllegalStateException("state")));
+        assertFailure(Failure.create(new IllegalStateException()));
+        assertFailure(new MultipleFailures(Failure.create("one"), Failure.create("TWO", "two")));
+        assertFailure(new MatcherNotFoundFailure("value"));
+        assertFailure(new MatcherNotFoundFailure(10));
+        assertFailure(FailureAggregator.create(1, 1).add(Failure.create("one")).toFailure());
+    }
+
+    @Test
+    void exceptionFailureIsDecodedWithClassAndMessage() {
+        Failure decoded = roundTrip(Codecs.FAILURE, Failure.create(new IllegalStateException("state")));
+
+        DecodedException exception = (DecodedException) decoded.toException();
+        assertEquals("java.lang.IllegalStateException", exception.getClassName());
+        assertEquals("state", exception.getMessage());
+        assertEquals("java.lang.IllegalStateException: state", exception.toString());
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(decoded.toString(), roundTrip(Codecs.FAILURE, decoded).toString());
+        assertEquals("java.lang.IllegalStateException", new DecodedException("java.lang.IllegalStateException", null).toString());
+    }
+
+    @Test
+    void codeFailureKeepsEquality() {
+        Failure failure = Failure.create("CODE", "description");
+
+        assertEquals(failure, roundTrip(Codecs.FAILURE, failure));
+    }
+
+    @Test
+    void matcherValueCodec() {
+        Codec<Failure> codec = Codecs.failure(Codecs.INTEGER, Integer.class);
+
+        MatcherNotFoundFailure number = (MatcherNotFoundFailure) roundTrip(codec, new MatcherNotFoundFailure(10));
+        MatcherNotFoundFailure text = (MatcherNotFoundFailure) roundTrip(codec, new MatcherNotFoundFailure("ten"));
+
+        assertEquals(10, number.getValue());
+        assertEquals("ten", text.getValue());
+    }
+
+    @Test
+    void unknownFailureTag() {
+        assertThrows(IllegalArgumentException.class, () -> Codecs.FAILURE.decode(ByteBuffer.wrap(new byte[] {9})));
+    }
+
+    @Test
+    void pairs() {
+        Codec<Pair<String, Result<Integer>>> codec = Codecs.pair(Codecs.STRING, Codecs.result(Codecs.INTEGER));
+
+        Pair<String, Result<Integer>> pair = roundTrip(codec, Pair.of("key", DirectResult.ok(3)));
+
+        assertEquals("key", pair.left());
+        assertEquals(3, pair.right().getOrThrow());
+    }
+
+    @Test
+    void channels() {
+        Codec<Result<String>> codec = Codecs.result(Codecs.STRING);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        WritableByteChannel channel = Channels.newChannel(output);
+
+        assertEquals(Integer.BYTES + 1 + Codecs.STRING.size("first"),
+                Codecs.write(codec, DirectResult.ok("first"), channel).getOrThrow());
+        Codecs.write(codec, DirectResult.failure("second"), channel);
+
+        var input = Channels.newChannel(new ByteArrayInputStream(output.toByteArray()));
+        assertEquals("first", Codecs.read(codec, input).getOrThrow().getOrThrow());
+        assertEquals("second", Codecs.read(codec, input).getOrThrow().failure().get().toString());
+        Result<Result<String>> end = Codecs.read(codec, input);
+        assertInstanceOf(EOFException.class, end.failure().get().toException());
+    }
+
+    @Test
+    void invalidFrames() {
+        assertCorrupted(Codecs.read(Codecs.STRING, channel(ByteBuffer.allocate(4).putInt(-1))));
+        assertCorrupted(Codecs.read(Codecs.BYTES, channel(ByteBuffer.allocate(8).putInt(100).putInt(96)), 10));
+        assertCorrupted(Codecs.read(Codecs.LONG, channel(ByteBuffer.allocate(8).putInt(4).putInt(1))));
+        assertCorrupted(Codecs.read(Codecs.BYTES, channel(ByteBuffer.allocate(8).putInt(4).putInt(Integer.MAX_VALUE))));
+        assertCorrupted(Codecs.read(Codecs.STRING, channel(ByteBuffer.allocate(8).putInt(4).putInt(-2))));
+        assertCorrupted(Codecs.read(Codecs.FAILURE, channel(ByteBuffer.allocate(5).putInt(1).put((byte) 9))));
+        assertCorrupted(Codecs.read(Codecs.FAILURE,
+                channel(ByteBuffer.allocate(9).putInt(5).put((byte) 3).putInt(Integer.MAX_VALUE))));
+        assertEquals(List.of(), ((MultipleFailures) Codecs.read(Codecs.FAILURE,
+                channel(ByteBuffer.allocate(9).putInt(5).put((byte) 3).putInt(0))).getOrThrow()).getFailures());
+    }
+
+    private static ReadableByteChannel channel(ByteBuffer frame) {
+        return Channels.newChannel(new ByteArrayInputStream(frame.array()));
+    }
+
+    private static void assertCorrupted(Result<?> result) {
+        assertInstanceOf(StreamCorruptedException.class, result.failure().get().toException());
+    }
+
+    @Test
+    void writeFailure() {
+        WritableByteChannel channel = Channels.newChannel(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("closed");
+            }
+        });
+
+        Result<Integer> result = Codecs.write(Codecs.LONG, 1L, channel);
+
+        assertEquals("ExceptionFailure: java.io.IOException: closed", result.failure().get().toString());
+    }
+
+    @Test
+    void nullCodecs() {
+        assertThrows(NullPointerException.class, () -> Codecs.result(null));
+        assertThrows(NullPointerException.class, () -> Codecs.result(Codecs.LONG, null));
+        assertThrows(NullPointerException.class, () -> Codecs.pair(null, Codecs.LONG));
+        assertThrows(NullPointerException.class, () -> Codecs.pair(Codecs.LONG, null));
+        assertThrows(NullPointerException.class, () -> Codecs.failure(null, Integer.class));
+        assertThrows(NullPointerException.class, () -> Codecs.failure(Codecs.INTEGER, null));
+    }
+
+    private void assertFailure(Failure failure) {
+        Failure decoded = roundTrip(Codecs.FAILURE, failure);
+        assertEquals(failure.toString(), decoded.toString());
+        if (failure instanceof MultipleFailures multiple) {
+            assertEquals(multiple.getFailures().size(), ((MultipleFailures) decoded).getFailures().size());
+        }
+    }
+
+    private <T> T roundTrip(Codec<T> codec, T value) {
+        ByteBuffer buffer = codec.toBuffer(value);
+        assertEquals(codec.size(value), buffer.remaining());
+        T decoded = codec.decode(buffer);
+        assertFalse(buffer.hasRemaining());
+        return decoded;
+    }
+}
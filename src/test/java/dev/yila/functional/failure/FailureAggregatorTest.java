@@ -0,0 +1,109 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional.failure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FailureAggregatorTest {
+
+    @Test
+    public void groupFailures() {
+        FailureAggregator aggregator = FailureAggregator.create(2, 10);
+        for (int i = 0; i < 500_000; i++) {
+            aggregator.add(Failure.create("INVALID", "Invalid record " + i));
+        }
+        aggregator.add(Failure.create(new IllegalStateException("state")));
+        aggregator.add(Failure.create("description"));
+
+        AggregatedFailures failures = aggregator.toFailure();
+
+        assertEquals(500_002, failures.getTotal());
+        assertEquals(0, failures.getOverflow());
+        assertEquals(List.of("INVALID", "java.lang.IllegalStateException", "DescriptionFailure"),
+                failures.getGroups().stream().map(AggregatedFailures.Group::key).toList());
+        assertEquals(500_000, failures.getGroups().get(0).count());
+        assertEquals(2, failures.getGroups().get(0).examples().size());
+        assertEquals("500002 failures [INVALID (500000): INVALID: Invalid record 0, INVALID: Invalid record 1; " +
+                "java.lang.IllegalStateException (1): ExceptionFailure: java.lang.IllegalStateException: state; " +
+                "DescriptionFailure (1): description]", failures.toString());
+        assertSame(failures.toString(), failures.toString());
+    }
+
+    @Test
+    public void groupDecodedExceptionsByOriginalClass() {
+        assertEquals("java.io.IOException",
+                FailureAggregator.groupKey(Failure.create(new DecodedException("java.io.IOException", "disk"))));
+        assertEquals("java.lang.IllegalStateException",
+                FailureAggregator.groupKey(Failure.create(new IllegalStateException("state"))));
+    }
+
+    @Test
+    public void overflowOfGroups() {
+        FailureAggregator aggregator = FailureAggregator.create(0, 1)
+                .add(Failure.create("A", "a"))
+                .add(Failure.create("B", "b"))
+                .add(Failure.create(null, "no code"));
+
+        AggregatedFailures failures = aggregator.toFailure();
+
+        assertEquals(3, aggregator.total());
+        assertEquals(2, failures.getOverflow());
+        assertEquals("3 failures [A (1)] and 2 in other groups", failures.toString());
+    }
+
+    @Test
+    public void merge() {
+        FailureAggregator first = FailureAggregator.create(2, 2)
+                .add(Failure.create("A", "a1"))
+                .add(Failure.create("C", "c1"))
+                .add(Failure.create("D", "d1"));
+        FailureAggregator second = FailureAggregator.create(2, 2)
+                .add(Failure.create("A", "a2"))
+                .add(Failure.create("A", "a3"))
+                .add(Failure.create("B", "b1"))
+                .add(Failure.create("E", "e1"));
+
+        AggregatedFailures failures = first.merge(second).toFailure();
+
+        assertEquals(7, failures.getTotal());
+        assertEquals(3, failures.getOverflow());
+        assertEquals("7 failures [A (3): A: a1, A: a2; C (1): C: c1] and 3 in other groups", failures.toString());
+    }
+
+    @Test
+    public void exceptionWithExamples() {
+        Exception cause = new IllegalStateException("state");
+        AggregatedFailures failures = FailureAggregator.create(1, 5)
+                .add(Failure.create(cause))
+                .add(Failure.create("A", "a"))
+                .toFailure();
+
+        Exception exception = failures.toException();
+
+        assertEquals(failures.toString(), exception.getMessage());
+        assertSame(cause, exception.getSuppressed()[0]);
+        assertEquals("A: a", exception.getSuppressed()[1].getMessage());
+        assertNotSame(exception, failures.toException());
+    }
+
+    @Test
+    public void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> FailureAggregator.create(-1, 1));
+        assertThrows(IllegalArgumentException.class, () -> FailureAggregator.create(1, 0));
+    }
+}
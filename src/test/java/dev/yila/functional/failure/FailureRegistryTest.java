@@ -0,0 +1,82 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional.failure;
+
+import org.junit.jupiter.api.Test;
+
+import static dev.yila.functional.failure.FailureCategory.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FailureRegistryTest {
+
+    private final FailureRegistry registry = FailureRegistry.create();
+    private final RegisteredFailure timeout = registry.register("TIMEOUT", "Timeout calling service", TRANSIENT);
+    private final RegisteredFailure invalidEmail = registry.register("INVALID_EMAIL", "Invalid email", VALIDATION);
+
+    @Test
+    public void registerCodes() {
+        assertEquals(0, timeout.id());
+        assertEquals(1, invalidEmail.id());
+        assertEquals(2, registry.size());
+        assertEquals("TIMEOUT: Timeout calling service", timeout.toString());
+        assertSame(timeout, registry.failure("TIMEOUT"));
+        assertSame(invalidEmail, registry.failure(1));
+        assertNull(registry.failure("OTHER"));
+        assertThrows(IndexOutOfBoundsException.class, () -> registry.failure(2));
+    }
+
+    @Test
+    public void classifyFailures() {
+        assertEquals(TRANSIENT, registry.category(timeout));
+        assertEquals(VALIDATION, registry.category(Failure.create("INVALID_EMAIL", "Invalid email: a@")));
+        assertEquals(1, registry.id(Failure.create("INVALID_EMAIL", "Invalid email: a@")));
+        assertEquals(UNKNOWN, registry.category(Failure.create("OTHER", "other")));
+        assertEquals(UNKNOWN, registry.category(Failure.create("no code")));
+        assertEquals(FailureRegistry.UNKNOWN_ID, registry.id(Failure.create(null, "null code")));
+    }
+
+    @Test
+    public void failureOfOtherRegistry() {
+        FailureRegistry other = FailureRegistry.create();
+        RegisteredFailure permanent = other.register("GONE", "Gone", PERMANENT);
+        RegisteredFailure otherTimeout = other.register("TIMEOUT", "Timeout", PERMANENT);
+
+        assertEquals(UNKNOWN, registry.category(permanent));
+        assertEquals(TRANSIENT, registry.category(otherTimeout));
+        assertEquals(FailureRegistry.UNKNOWN_ID, registry.id(other.register("OTHER", "Other", PERMANENT)));
+    }
+
+    @Test
+    public void invalidRegistrations() {
+        assertThrows(IllegalArgumentException.class, () -> registry.register("TIMEOUT", "Other", PERMANENT));
+        assertThrows(IllegalArgumentException.class, () -> registry.register("CODE", "Unknown", UNKNOWN));
+        assertThrows(NullPointerException.class, () -> registry.register(null, "description", PERMANENT));
+        assertThrows(NullPointerException.class, () -> registry.register("CODE", null, PERMANENT));
+        assertThrows(NullPointerException.class, () -> registry.register("CODE", "description", null));
+    }
+
+    @Test
+    public void codeDescriptionEquality() {
+        CodeDescriptionFailure failure = CodeDescriptionFailure.create("TIMEOUT", "Timeout calling service");
+
+        assertEquals(failure, timeout);
+        assertEquals(failure, failure);
+        assertEquals(failure.hashCode(), timeout.hashCode());
+        assertNotEquals(failure, CodeDescriptionFailure.create("TIMEOUT", "Other"));
+        assertNotEquals(failure, CodeDescriptionFailure.create("OTHER", "Timeout calling service"));
+        assertNotEquals(failure, Failure.create("TIMEOUT: Timeout calling service"));
+        assertEquals("TIMEOUT", failure.getCode());
+        assertEquals("Timeout calling service", failure.getDescription());
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional.failure;
+
+import dev.yila.functional.DirectResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FailureStatsTest {
+
+    private final AtomicLong nanos = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final FailureStats stats = new FailureStats(3, nanos::get);
+
+    @Test
+    public void countsPerClassAndKey() {
+        DirectResult.failure("description").onFailure(stats);
+        DirectResult.failure(new IllegalStateException()).onFailure(stats);
+        DirectResult.failure(new IllegalStateException()).onFailure(stats);
+        DirectResult.failure(Failure.create("TIMEOUT", "timeout")).onFailure(stats);
+        DirectResult.ok(1).onFailure(stats);
+
+        assertEquals(4, stats.total());
+        assertEquals(1L, stats.byClass().get(DescriptionFailure.class));
+        assertEquals(2L, stats.byClass().get(ExceptionFailure.class));
+        assertEquals(1L, stats.byClass().get(CodeDescriptionFailure.class));
+        assertEquals(new FailureStats.FailureCount("java.lang.IllegalStateException", 2, 0), stats.topK(1).get(0));
+        assertEquals(3, stats.topK(10).size());
+    }
+
+    @Test
+    public void decodedExceptionsByOriginalClass() {
+        stats.accept(Failure.create(new DecodedException("java.io.IOException", "disk")));
+        stats.accept(Failure.create(new DecodedException("java.io.IOException", "network")));
+        stats.accept(Failure.create(new DecodedException("java.util.concurrent.TimeoutException", "slow")));
+
+        assertEquals(new FailureStats.FailureCount("java.io.IOException", 2, 0), stats.topK(1).get(0));
+        assertEquals(2, stats.topK(10).size());
+    }
+
+    @Test
+    public void topKWithSpaceSaving() {
+        for (int i = 0; i < 100; i++) {
+            stats.accept(Failure.create("FREQUENT", "frequent"));
+            stats.accept(Failure.create("RARE" + i, "rare"));
+            if (i % 2 == 0) {
+                stats.accept(Failure.create("HALF", "half"));
+            }
+        }
+
+        List<FailureStats.FailureCount> top = stats.topK(2);
+
+        assertEquals("FREQUENT", top.get(0).key());
+        assertEquals(100, top.get(0).count());
+        assertEquals(0, top.get(0).error());
+        assertEquals("HALF", top.get(1).key());
+        assertTrue(top.get(1).count() - top.get(1).error() <= 50);
+        assertTrue(top.get(1).count() >= 50);
+    }
+
+    @Test
+    public void concurrentCounts() {
+        IntStream.range(0, 100_000).parallel()
+                .forEach(i -> stats.accept(Failure.create(i % 2 == 0 ? "EVEN" : "ODD", "number")));
+
+        assertEquals(100_000, stats.total());
+        assertEquals(100_000, stats.topK(2).stream().mapToLong(FailureStats.FailureCount::count).sum());
+    }
+
+    @Test
+    public void evictOldestWithMinimumCount() {
+        stats.accept(Failure.create("A", "a"));
+        stats.accept(Failure.create("B", "b"));
+        stats.accept(Failure.create("B", "b"));
+        stats.accept(Failure.create("C", "c"));
+        stats.accept(Failure.create("D", "d"));
+        stats.accept(Failure.create("E", "e"));
+
+        assertEquals(List.of(
+                new FailureStats.FailureCount("B", 2, 0),
+                new FailureStats.FailureCount("D", 2, 1),
+                new FailureStats.FailureCount("E", 2, 1)), stats.topK(5));
+    }
+
+    @Test
+    public void concurrentCountsWithEvictions() {
+        IntStream.range(0, 100_000).parallel()
+                .forEach(i -> stats.accept(Failure.create("CODE" + (i % 10), "number")));
+
+        assertEquals(100_000, stats.topK(3).stream().mapToLong(FailureStats.FailureCount::count).sum());
+    }
+
+    @Test
+    public void ratePerSecond() {
+        for (int i = 0; i < 10; i++) {
+            stats.accept(Failure.create("description"));
+        }
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        for (int i = 0; i < 20; i++) {
+            stats.accept(Failure.create("description"));
+        }
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        stats.accept(Failure.create("description"));
+
+        assertEquals(20.0, stats.ratePerSecond(1));
+        assertEquals(15.0, stats.ratePerSecond(2));
+        assertEquals(0.5, stats.ratePerSecond(60));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        stats.accept(Failure.create("description"));
+        assertEquals(0.0, stats.ratePerSecond(60));
+    }
+
+    @Test
+    public void concurrentCountsAcrossSeconds() {
+        Failure failure = Failure.create("failure");
+        for (int round = 0; round < 200; round++) {
+            AtomicLong ticks = new AtomicLong(0);
+            FailureStats concurrent = new FailureStats(3,
+                    () -> TimeUnit.SECONDS.toNanos(100 + ticks.getAndIncrement() / 50));
+
+            IntStream.range(0, 50 * 58).parallel().forEach(i -> concurrent.accept(failure));
+
+            assertEquals(50 * 58, Math.round(concurrent.ratePerSecond(59) * 59));
+        }
+    }
+
+    @Test
+    public void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> FailureStats.create(0));
+        assertThrows(IllegalArgumentException.class, () -> stats.ratePerSecond(0));
+        assertThrows(IllegalArgumentException.class, () -> stats.ratePerSecond(61));
+        assertEquals(0, FailureStats.create(1).total());
+    }
+}
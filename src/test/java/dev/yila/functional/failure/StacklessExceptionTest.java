@@ -0,0 +1,65 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.yila.functional.failure;
+
+import dev.yila.functional.Fun;
+import dev.yila.functional.Result;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class StacklessExceptionTest {
+
+    static class ParseException extends StacklessException {
+        ParseException(String message) {
+            super(message);
+        }
+    }
+
+    @Test
+    public void noStackTrace() {
+        Exception cause = new IllegalStateException();
+        StacklessException exception = new StacklessException("stackless", cause);
+
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals("stackless", exception.getMessage());
+        assertSame(cause, exception.getCause());
+    }
+
+    @Test
+    public void expectedFailureOfFun() {
+        Fun<String, Integer> parse = Fun.from(input -> {
+            if (input.isEmpty()) {
+                throw new ParseException("Empty input");
+            }
+            return input.length();
+        }, ParseException.class);
+
+        Result<Integer> result = parse.apply("");
+
+        assertEquals(0, result.failure().get().toException().getStackTrace().length);
+        assertEquals("ExceptionFailure: dev.yila.functional.failure.StacklessExceptionTest$ParseException: Empty input",
+                result.failure().get().toString());
+    }
+
+    @Test
+    public void suppressedExceptions() {
+        Exception exception = new MultipleFailures(
+                new ExceptionFailure(new StacklessException("first")),
+                Failure.create("second")).toException();
+
+        assertEquals("second", exception.getSuppressed()[0].getMessage());
+    }
+}